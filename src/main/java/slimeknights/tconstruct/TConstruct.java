@@ -5,9 +5,11 @@ import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLMissingMappingsEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 import net.minecraftforge.fml.common.network.NetworkCheckHandler;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.registry.GameRegistry;
@@ -23,21 +25,31 @@ import slimeknights.mantle.common.GuiHandler;
 import slimeknights.mantle.pulsar.control.PulseManager;
 import slimeknights.tconstruct.common.ClientProxy;
 import slimeknights.tconstruct.common.CommonProxy;
+import slimeknights.tconstruct.common.RecipeIndexEvents;
 import slimeknights.tconstruct.common.TinkerNetwork;
 import slimeknights.tconstruct.common.TinkerOredict;
+import slimeknights.tconstruct.common.command.CommandTConstruct;
+import slimeknights.tconstruct.common.network.ChunkWatchers;
+import slimeknights.tconstruct.common.network.PacketStatistics;
+import slimeknights.tconstruct.common.network.PaletteSync;
 import slimeknights.tconstruct.common.config.Config;
 import slimeknights.tconstruct.common.config.ConfigSync;
 import slimeknights.tconstruct.debug.TinkerDebug;
 import slimeknights.tconstruct.gadgets.TinkerGadgets;
+import slimeknights.tconstruct.library.SlimeBounceHandler;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.capability.projectile.CapabilityTinkerProjectile;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
 import slimeknights.tconstruct.library.utils.HarvestLevels;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
+import slimeknights.tconstruct.library.utils.TickProfiler;
 import slimeknights.tconstruct.plugin.ChiselAndBits;
 import slimeknights.tconstruct.plugin.CraftingTweaks;
 import slimeknights.tconstruct.plugin.waila.Waila;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.shared.TinkerFluids;
 import slimeknights.tconstruct.smeltery.TinkerSmeltery;
+import slimeknights.tconstruct.smeltery.network.FluidUpdateQueue;
 import slimeknights.tconstruct.tools.TinkerMaterials;
 import slimeknights.tconstruct.tools.TinkerTools;
 import slimeknights.tconstruct.world.TinkerWorld;
@@ -120,6 +132,7 @@ public class TConstruct {
 
   @Mod.EventHandler
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(modID, event);
     Config.load(event);
 
     HarvestLevels.init();
@@ -132,6 +145,17 @@ public class TConstruct {
 
     TinkerNetwork.instance.setup();
     CapabilityTinkerProjectile.register();
+
+    MinecraftForge.EVENT_BUS.register(TaskScheduler.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(TickProfiler.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(ChunkWatchers.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(FluidUpdateQueue.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(PaletteSync.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(SlimeBounceHandler.TickHandler.INSTANCE);
+    MinecraftForge.EVENT_BUS.register(new RecipeIndexEvents());
+    TickProfiler.setEnabled(Config.tickProfiler);
+    PacketStatistics.setEnabled(Config.packetStatistics);
+    StartupProfiler.end();
   }
 
   @Mod.EventHandler
@@ -141,6 +165,7 @@ public class TConstruct {
 
   @Mod.EventHandler
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(modID, event);
     if(event.getSide().isClient()) {
       ClientProxy.initRenderer();
     }
@@ -148,6 +173,17 @@ public class TConstruct {
 
     // config syncing
     MinecraftForge.EVENT_BUS.register(new ConfigSync());
+    StartupProfiler.end();
+  }
+
+  @Mod.EventHandler
+  public void loadComplete(FMLLoadCompleteEvent event) {
+    StartupProfiler.report(Config.startupReport);
+  }
+
+  @Mod.EventHandler
+  public void serverStarting(FMLServerStartingEvent event) {
+    event.registerServerCommand(new CommandTConstruct());
   }
 
   // Old version compatibility
@@ -2,6 +2,8 @@ package slimeknights.tconstruct;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.eventbus.Subscribe;
 
 import net.minecraft.nbt.NBTTagCompound;
@@ -22,6 +24,8 @@ import net.minecraftforge.oredict.OreDictionary;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import slimeknights.mantle.pulsar.pulse.Pulse;
 import slimeknights.tconstruct.common.TinkerPulse;
@@ -29,6 +33,7 @@ import slimeknights.tconstruct.library.MaterialIntegration;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.materials.Material;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerFluids;
 import slimeknights.tconstruct.tools.TinkerMaterials;
 
@@ -41,8 +46,15 @@ public class TinkerIntegration extends TinkerPulse {
   public static List<MaterialIntegration> integrationList = Lists.newLinkedList();
   public static List<NBTTagList> alloys = Lists.newLinkedList();
 
+  // ore name -> integrations that still wait for the ore name to be registered
+  private static final Map<String, List<MaterialIntegration>> pendingByOre = Maps.newHashMap();
+  // integration -> amount of ore names it still waits for
+  private static final Map<MaterialIntegration, Integer> missingOres = Maps.newIdentityHashMap();
+  private static final Set<MaterialIntegration> indexed = Sets.newIdentityHashSet();
+
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     integrate(TinkerMaterials.wood);
     integrate(TinkerMaterials.stone);
     integrate(TinkerMaterials.flint);
@@ -93,6 +105,7 @@ public class TinkerIntegration extends TinkerPulse {
     }
 
     MinecraftForge.EVENT_BUS.register(this);
+    StartupProfiler.end();
   }
 
   public static boolean isIntegrated(Fluid fluid) {
@@ -110,22 +123,37 @@ public class TinkerIntegration extends TinkerPulse {
 
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     handleIMCs();
 
+    // ore names that exist without anything registered to them don't fire an event, try those once more
+    for(MaterialIntegration integration : integrationList) {
+      integration.integrate();
+    }
+    pendingByOre.clear();
+    missingOres.clear();
+    indexed.clear();
+
     // do we got integration
+    // includes the toolpart melting and casting of all materials
+    StartupProfiler.begin(PulseId + ":recipes", event);
     for(MaterialIntegration integration : integrationList) {
       // integrate again, some oredicts might not have been present in the previous attempt
       integration.integrateRecipes();
     }
+    StartupProfiler.end();
 
     handleAlloyIMCs();
+    StartupProfiler.end();
   }
 
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     for(MaterialIntegration integration : integrationList) {
       integration.registerRepresentativeItem();
     }
+    StartupProfiler.end();
   }
 
 
@@ -135,10 +163,66 @@ public class TinkerIntegration extends TinkerPulse {
     if(Loader.instance().hasReachedState(LoaderState.INITIALIZATION)) {
       return;
     }
-    // the registered ore might be something we integrate and haven't yet
+    indexIntegrations();
+
+    // the registered ore might be the last one an integration was waiting for
+    List<MaterialIntegration> waiting = pendingByOre.remove(event.getName());
+    if(waiting == null) {
+      return;
+    }
+    for(MaterialIntegration integration : waiting) {
+      Integer missing = missingOres.get(integration);
+      if(missing == null) {
+        continue;
+      }
+      if(missing > 1) {
+        missingOres.put(integration, missing - 1);
+      }
+      else {
+        missingOres.remove(integration);
+        integration.integrate();
+      }
+    }
+  }
+
+  /**
+   * Going through all integrations and all ore names on every registered ore takes forever in big packs,
+   * so every integration is checked once and then only looked at again when an ore name it requires gets registered.
+   */
+  private static void indexIntegrations() {
+    // integrations can be added by other mods at any time
+    if(indexed.size() == integrationList.size()) {
+      return;
+    }
+
+    Set<String> oreNames = null;
     for(MaterialIntegration integration : ImmutableList.copyOf(integrationList)) {
-      // calling this multiple time is ok because it does nothing once it was successful
+      if(!indexed.add(integration)) {
+        continue;
+      }
       integration.integrate();
+      if(integration.isIntegrated()) {
+        continue;
+      }
+
+      if(oreNames == null) {
+        oreNames = Sets.newHashSet(OreDictionary.getOreNames());
+      }
+      int missing = 0;
+      for(String ore : Sets.newHashSet(integration.oreRequirement)) {
+        if(!oreNames.contains(ore)) {
+          List<MaterialIntegration> list = pendingByOre.get(ore);
+          if(list == null) {
+            list = Lists.newArrayList();
+            pendingByOre.put(ore, list);
+          }
+          list.add(integration);
+          missing++;
+        }
+      }
+      if(missing > 0) {
+        missingOres.put(integration, missing);
+      }
     }
   }
 
@@ -0,0 +1,19 @@
+package slimeknights.tconstruct.common;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.oredict.OreDictionary;
+
+import slimeknights.tconstruct.library.TinkerRegistry;
+
+/**
+ * The melting, casting and drying recipe indices are built from the ore dictionary entries known at the first lookup.
+ * Entries registered afterwards would be invisible to the lookups, so the indices get rebuilt after every change.
+ */
+public class RecipeIndexEvents {
+
+  @SubscribeEvent
+  public void onOredictRegister(OreDictionary.OreRegisterEvent event) {
+    TinkerRegistry.clearSmelteryRecipeIndex();
+    TinkerRegistry.clearDryingRecipeIndex();
+  }
+}
@@ -2,17 +2,27 @@ package slimeknights.tconstruct.common;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.WorldServer;
-import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 
+import java.util.Collection;
+
 import slimeknights.mantle.network.AbstractPacket;
 import slimeknights.mantle.network.NetworkWrapper;
 import slimeknights.tconstruct.TConstruct;
 import slimeknights.tconstruct.common.config.ConfigSyncPacket;
+import slimeknights.tconstruct.common.network.ChunkWatchers;
+import slimeknights.tconstruct.common.network.PacketStatistics;
+import slimeknights.tconstruct.common.network.PaletteSyncPacket;
 import slimeknights.tconstruct.common.network.SpawnParticlePacket;
+import slimeknights.tconstruct.gadgets.network.SlimeChannelStreamPacket;
 import slimeknights.tconstruct.smeltery.network.FaucetActivationPacket;
+import slimeknights.tconstruct.smeltery.network.FluidUpdateBatchPacket;
 import slimeknights.tconstruct.smeltery.network.FluidUpdatePacket;
 import slimeknights.tconstruct.smeltery.network.SmelteryFluidClicked;
 import slimeknights.tconstruct.smeltery.network.SmelteryFluidUpdatePacket;
@@ -40,6 +50,7 @@ public class TinkerNetwork extends NetworkWrapper {
     // register all the packets
     registerPacketClient(ConfigSyncPacket.class);
     registerPacketClient(SpawnParticlePacket.class);
+    registerPacketClient(PaletteSyncPacket.class);
 
     // TOOLS
     registerPacket(StencilTableSelectionPacket.class);
@@ -59,40 +70,77 @@ public class TinkerNetwork extends NetworkWrapper {
     registerPacketServer(SmelteryFluidClicked.class);
     registerPacketClient(FluidUpdatePacket.class);
     registerPacketClient(FaucetActivationPacket.class);
+    registerPacketClient(FluidUpdateBatchPacket.class);
+
+    // GADGETS
+    registerPacketClient(SlimeChannelStreamPacket.class);
   }
 
   public static void sendToAll(AbstractPacket packet) {
+    if(PacketStatistics.isEnabled()) {
+      MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+      PacketStatistics.record(packet, server != null ? server.getPlayerList().getCurrentPlayerCount() : 0);
+    }
     instance.network.sendToAll(packet);
   }
 
   public static void sendTo(AbstractPacket packet, EntityPlayerMP player) {
+    PacketStatistics.record(packet, 1);
     instance.network.sendTo(packet, player);
   }
 
 
   public static void sendToAllAround(AbstractPacket packet, NetworkRegistry.TargetPoint point) {
+    if(PacketStatistics.isEnabled()) {
+      PacketStatistics.record(packet, countPlayersAround(point));
+    }
     instance.network.sendToAllAround(packet, point);
   }
 
   public static void sendToDimension(AbstractPacket packet, int dimensionId) {
+    if(PacketStatistics.isEnabled()) {
+      WorldServer world = DimensionManager.getWorld(dimensionId);
+      PacketStatistics.record(packet, world != null ? world.playerEntities.size() : 0);
+    }
     instance.network.sendToDimension(packet, dimensionId);
   }
 
   public static void sendToServer(AbstractPacket packet) {
+    PacketStatistics.record(packet, 1);
     instance.network.sendToServer(packet);
   }
 
-  public static void sendToClients(WorldServer world, BlockPos pos, AbstractPacket packet) {
-    Chunk chunk = world.getChunkFromBlockCoords(pos);
+  /** Same selection FML does for sendToAllAround */
+  private static int countPlayersAround(NetworkRegistry.TargetPoint point) {
+    WorldServer world = DimensionManager.getWorld(point.dimension);
+    if(world == null) {
+      return 0;
+    }
+    int count = 0;
+    double rangeSq = point.range * point.range;
     for(EntityPlayer player : world.playerEntities) {
-      // only send to relevant players
-      if(!(player instanceof EntityPlayerMP)) {
-        continue;
-      }
-      EntityPlayerMP playerMP = (EntityPlayerMP) player;
-      if(world.getPlayerChunkMap().isPlayerWatchingChunk(playerMP, chunk.xPosition, chunk.zPosition)) {
-        TinkerNetwork.sendTo(packet, playerMP);
+      if(player.getDistanceSq(point.x, point.y, point.z) < rangeSq) {
+        count++;
       }
     }
+    return count;
+  }
+
+  /** Sends the packet to all players that have the chunk of the position loaded */
+  public static void sendToClients(WorldServer world, BlockPos pos, AbstractPacket packet) {
+    sendToPlayers(packet, ChunkWatchers.getWatchers(world, pos.getX() >> 4, pos.getZ() >> 4));
+  }
+
+  /** Encodes the packet only once and sends the same data to all the players */
+  public static void sendToPlayers(AbstractPacket packet, Collection<EntityPlayerMP> players) {
+    if(players.isEmpty()) {
+      return;
+    }
+    Packet<?> encoded = instance.network.getPacketFrom(packet);
+    for(EntityPlayerMP player : players) {
+      player.connection.sendPacket(encoded);
+    }
+    // counted as a single send to all the players
+    PacketStatistics.record(packet, players.size());
   }
 }
@@ -10,6 +10,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.oredict.OreDictionary;
 import slimeknights.mantle.pulsar.pulse.Pulse;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.smeltery.TinkerSmeltery;
 import slimeknights.tconstruct.tools.block.BlockToolTable;
 
@@ -92,12 +93,14 @@ public class TinkerOredict {
 
   @Subscribe
   public static void doTheOredict(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     ensureOredict();
     registerCommon();
     registerTools();
     registerSmeltery();
     registerWorld();
     registerGadgets();
+    StartupProfiler.end();
   }
 
 
@@ -0,0 +1,135 @@
+package slimeknights.tconstruct.common.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.common.network.PacketStatistics;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
+import slimeknights.tconstruct.library.utils.TickProfiler;
+
+/**
+ * Server admin utilities, available as /tconstruct.
+ * <br>
+ * perf: shows the tick profiler report and the task scheduler counters, or starts, stops and resets measuring
+ * net: shows the packet statistics, or starts, stops and resets counting
+ */
+public class CommandTConstruct extends CommandBase {
+
+  @Nonnull
+  @Override
+  public String getCommandName() {
+    return "tconstruct";
+  }
+
+  @Nonnull
+  @Override
+  public String getCommandUsage(@Nonnull ICommandSender sender) {
+    return "/tconstruct <perf [start|stop|reset|<positions>]|net [start|stop|reset]>";
+  }
+
+  @Override
+  public int getRequiredPermissionLevel() {
+    return 2;
+  }
+
+  @Override
+  public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args)
+      throws CommandException {
+    if(args.length < 1) {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+
+    if("perf".equals(args[0])) {
+      perf(sender, args);
+    }
+    else if("net".equals(args[0])) {
+      net(sender, args);
+    }
+    else {
+      throw new WrongUsageException(getCommandUsage(sender));
+    }
+  }
+
+  private void perf(ICommandSender sender, String[] args) throws CommandException {
+    int top = Config.tickProfilerTopCount;
+    if(args.length > 1) {
+      if("start".equals(args[1])) {
+        TickProfiler.setEnabled(true);
+        sender.addChatMessage(new TextComponentString("Tick profiler started"));
+        return;
+      }
+      else if("stop".equals(args[1])) {
+        TickProfiler.setEnabled(false);
+        sender.addChatMessage(new TextComponentString("Tick profiler stopped"));
+        return;
+      }
+      else if("reset".equals(args[1])) {
+        TickProfiler.reset();
+        TaskScheduler.resetMetrics();
+        sender.addChatMessage(new TextComponentString("Tick profiler reset"));
+        return;
+      }
+      top = parseInt(args[1], 0, 100);
+    }
+
+    for(String line : TickProfiler.getReport(top)) {
+      sender.addChatMessage(new TextComponentString(line));
+    }
+    // the scheduler always counts, even while the profiler isn't measuring
+    sender.addChatMessage(new TextComponentString(
+        String.format(Locale.US, "Tasks: %d steps, %d queued (%d in this world), %d ticks over budget, %d us max overrun",
+                      TaskScheduler.getTotalSteps(), TaskScheduler.getTotalQueueDepth(),
+                      TaskScheduler.getQueueDepth(sender.getEntityWorld()),
+                      TaskScheduler.getOverruns(), TaskScheduler.getMaxOverrunMicros())));
+  }
+
+  private void net(ICommandSender sender, String[] args) throws CommandException {
+    if(args.length > 1) {
+      if("start".equals(args[1])) {
+        PacketStatistics.setEnabled(true);
+        sender.addChatMessage(new TextComponentString("Packet statistics started"));
+      }
+      else if("stop".equals(args[1])) {
+        PacketStatistics.setEnabled(false);
+        sender.addChatMessage(new TextComponentString("Packet statistics stopped"));
+      }
+      else if("reset".equals(args[1])) {
+        PacketStatistics.reset();
+        sender.addChatMessage(new TextComponentString("Packet statistics reset"));
+      }
+      else {
+        throw new WrongUsageException(getCommandUsage(sender));
+      }
+      return;
+    }
+
+    for(String line : PacketStatistics.getReport()) {
+      sender.addChatMessage(new TextComponentString(line));
+    }
+  }
+
+  @Nonnull
+  @Override
+  public List<String> getTabCompletionOptions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos pos) {
+    if(args.length == 1) {
+      return getListOfStringsMatchingLastWord(args, "perf", "net");
+    }
+    if(args.length == 2 && ("perf".equals(args[0]) || "net".equals(args[0]))) {
+      return getListOfStringsMatchingLastWord(args, "start", "stop", "reset");
+    }
+    return Collections.emptyList();
+  }
+}
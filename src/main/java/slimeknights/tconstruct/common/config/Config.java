@@ -44,6 +44,10 @@ public final class Config {
   public static boolean leatherDryingRecipe = true;
   public static boolean gravelFlintRecipe = true;
   public static double oreToIngotRatio = 2;
+  public static int taskTickBudget = 5000; // microseconds per tick and world for long running tasks
+  public static int maxTreeSize = 2048; // max. logs the lumberaxe fells at once
+  public static boolean slimeChannelItemStream = false; // slime channels move items as data instead of entities
+  public static boolean compactToolNBT = false; // save materials, traits and modifiers of tools as palette ids
 
   // Worldgen
   public static boolean genSlimeIslands = true;
@@ -60,6 +64,14 @@ public final class Config {
   public static boolean renderTableItems = true;
   public static boolean extraTooltips = true;
   public static boolean enableForgeBucketModel = true; // enables the forge bucket model by default
+  public static boolean lazyMaterialTextures = false; // only stitch material textures for materials that can actually be obtained
+
+  // Debug, never synced
+  public static boolean tickProfiler = false; // measure tile entity and task times from the start
+  public static int tickProfilerLogInterval = 300; // seconds between profiler reports in the log, 0 = never
+  public static int tickProfilerTopCount = 10; // positions listed in profiler reports
+  public static boolean packetStatistics = false; // count packets and bytes sent from the start
+  public static boolean startupReport = true; // write the startup times and registry sizes to a file
 
 
   /* Config File */
@@ -70,6 +82,7 @@ public final class Config {
   static ConfigCategory Gameplay;
   static ConfigCategory Worldgen;
   static ConfigCategory ClientSide;
+  static ConfigCategory Debug;
 
   public static void load(FMLPreInitializationEvent event) {
     configFile = new Configuration(event.getSuggestedConfigurationFile(), "0.1", false);
@@ -180,6 +193,28 @@ public final class Config {
       oreToIngotRatio = prop.getDouble();
       prop.requiresMcRestart();
       propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "taskTickBudget", taskTickBudget);
+      prop.setComment("Time in microseconds that long running jobs like tree felling or EFLN explosions may take per tick and world. Every job still progresses at least a bit each tick.");
+      prop.setMinValue(100);
+      taskTickBudget = prop.getInt();
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "maxTreeSize", maxTreeSize);
+      prop.setComment("Maximum amount of logs a lumber axe fells at once");
+      prop.setMinValue(1);
+      maxTreeSize = prop.getInt();
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "slimeChannelItemStream", slimeChannelItemStream);
+      prop.setComment("Items in slime channels get absorbed by the channel and move along it without being an entity. They turn back into item entities at the end of the channel. Reduces lag in large item transport systems. Only the setting of the server matters.");
+      slimeChannelItemStream = prop.getBoolean();
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "compactToolNBT", compactToolNBT);
+      prop.setComment("Saves the materials, traits and modifiers of tools as numeric ids instead of names, which makes tools a lot smaller in player data and when sent to players. The ids are saved with the world. Tools in the old format are still read, but other mods that read the tool data directly won't understand the new one.");
+      compactToolNBT = prop.getBoolean();
+      propOrder.add(prop.getName());
     }
     // Worldgen
     {
@@ -268,8 +303,57 @@ public final class Config {
       }
       propOrder.add(prop.getName());
 
+      prop = configFile.get(cat, "lazyMaterialTextures", lazyMaterialTextures);
+      prop.setComment("If true material textures will only be generated for materials that can be crafted, cast or were seen on a tool. Other materials render as a tinted default texture until the next resource reload. Reduces texture memory usage with lots of materials.");
+      lazyMaterialTextures = prop.getBoolean();
+      propOrder.add(prop.getName());
+
       ClientSide.setPropertyOrder(propOrder);
     }
+    // Debug, local to each game and never synced with the server
+    {
+      String cat = "debug";
+      List<String> propOrder = Lists.newArrayList();
+      Debug = configFile.getCategory(cat);
+
+      // these were in the synced gameplay category before
+      configFile.moveProperty("gameplay", "tickProfiler", cat);
+      configFile.moveProperty("gameplay", "tickProfilerLogInterval", cat);
+      configFile.moveProperty("gameplay", "tickProfilerTopCount", cat);
+      configFile.moveProperty("gameplay", "packetStatistics", cat);
+      configFile.moveProperty("gameplay", "startupReport", cat);
+
+      prop = configFile.get(cat, "tickProfiler", tickProfiler);
+      prop.setComment("Measures how much time the Tinkers tile entities and long running jobs take on the server, starting with the server. Can also be turned on and off with /tconstruct perf.");
+      tickProfiler = prop.getBoolean();
+      prop.setRequiresMcRestart(true);
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "tickProfilerLogInterval", tickProfilerLogInterval);
+      prop.setComment("Seconds between tick profiler reports in the log while it is measuring. 0 disables the reports.");
+      prop.setMinValue(0);
+      tickProfilerLogInterval = prop.getInt();
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "tickProfilerTopCount", tickProfilerTopCount);
+      prop.setComment("How many of the most expensive positions the tick profiler reports");
+      prop.setMinValue(0);
+      tickProfilerTopCount = prop.getInt();
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "packetStatistics", packetStatistics);
+      prop.setComment("Counts the packets and bytes Tinkers sends, per packet type, starting with the game. Can also be turned on and off with /tconstruct net.");
+      packetStatistics = prop.getBoolean();
+      prop.setRequiresMcRestart(true);
+      propOrder.add(prop.getName());
+
+      prop = configFile.get(cat, "startupReport", startupReport);
+      prop.setComment("Writes how long each part of Tinkers took to load, and how many materials, recipes and so on got registered, to logs/tconstruct-startup.json at the end of loading. The times always get logged.");
+      startupReport = prop.getBoolean();
+      propOrder.add(prop.getName());
+
+      Debug.setPropertyOrder(propOrder);
+    }
 
     // save changes if any
     boolean changed = false;
@@ -28,6 +28,7 @@ public class ConfigGui extends GuiConfig {
     list.add(new ConfigElement(Config.Gameplay));
     list.add(new ConfigElement(Config.Worldgen));
     list.add(new ConfigElement(Config.ClientSide));
+    list.add(new ConfigElement(Config.Debug));
 
     return list;
   }
@@ -0,0 +1,83 @@
+package slimeknights.tconstruct.common.network;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps track of which players have which chunks loaded on the server, so sending a block update to the clients
+ * doesn't have to check every player of the world against the chunk map.
+ * The sets are updated from the forge chunk watch events, which fire when a chunk is actually sent to a player and
+ * when the player stops watching it.
+ */
+public class ChunkWatchers {
+
+  public static final ChunkWatchers INSTANCE = new ChunkWatchers();
+
+  // dimension -> chunk -> players
+  private final TIntObjectHashMap<TLongObjectHashMap<List<EntityPlayerMP>>> watchers = new TIntObjectHashMap<TLongObjectHashMap<List<EntityPlayerMP>>>();
+
+  private ChunkWatchers() {
+  }
+
+  /** @return All players that have the chunk loaded. Do not modify the list. */
+  public static List<EntityPlayerMP> getWatchers(World world, int chunkX, int chunkZ) {
+    TLongObjectHashMap<List<EntityPlayerMP>> chunks = INSTANCE.watchers.get(world.provider.getDimension());
+    if(chunks == null) {
+      return Collections.emptyList();
+    }
+    List<EntityPlayerMP> players = chunks.get(ChunkPos.chunkXZ2Int(chunkX, chunkZ));
+    if(players == null) {
+      return Collections.emptyList();
+    }
+    return players;
+  }
+
+  @SubscribeEvent
+  public void onWatch(ChunkWatchEvent.Watch event) {
+    EntityPlayerMP player = event.getPlayer();
+    TLongObjectHashMap<List<EntityPlayerMP>> chunks = watchers.get(player.dimension);
+    if(chunks == null) {
+      chunks = new TLongObjectHashMap<List<EntityPlayerMP>>();
+      watchers.put(player.dimension, chunks);
+    }
+    long key = ChunkPos.chunkXZ2Int(event.getChunk().chunkXPos, event.getChunk().chunkZPos);
+    List<EntityPlayerMP> players = chunks.get(key);
+    if(players == null) {
+      players = new ArrayList<EntityPlayerMP>(2);
+      chunks.put(key, players);
+    }
+    if(!players.contains(player)) {
+      players.add(player);
+    }
+  }
+
+  @SubscribeEvent
+  public void onUnwatch(ChunkWatchEvent.UnWatch event) {
+    // the player could already be in the new dimension when switching dimensions, so check all of them
+    long key = ChunkPos.chunkXZ2Int(event.getChunk().chunkXPos, event.getChunk().chunkZPos);
+    for(TLongObjectHashMap<List<EntityPlayerMP>> chunks : watchers.valueCollection()) {
+      List<EntityPlayerMP> players = chunks.get(key);
+      if(players != null && players.remove(event.getPlayer()) && players.isEmpty()) {
+        chunks.remove(key);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public void onWorldUnload(WorldEvent.Unload event) {
+    if(!event.getWorld().isRemote) {
+      watchers.remove(event.getWorld().provider.getDimension());
+    }
+  }
+}
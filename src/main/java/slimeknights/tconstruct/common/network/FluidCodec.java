@@ -0,0 +1,110 @@
+package slimeknights.tconstruct.common.network;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Compact network format for FluidStacks, used by all Tinkers packets instead of writing the fluid as NBT.
+ * A fluid is written as its numeric registry id and amount as varints, and its NBT only if it has any.
+ * Forge syncs the fluid ids from the server to the client during login, so the ids match on both sides.
+ * <br>
+ * Layout: varint (id + 1, 0 for no fluid), varint amount, byte flag for NBT, NBT if the flag is set.
+ */
+public final class FluidCodec {
+
+  private static final int VARINT_SIZE = 5;
+
+  private FluidCodec() {
+  }
+
+  public static void writeFluid(ByteBuf buf, @Nullable FluidStack fluid) {
+    if(fluid == null || fluid.getFluid() == null) {
+      ByteBufUtils.writeVarInt(buf, 0, VARINT_SIZE);
+      return;
+    }
+
+    ByteBufUtils.writeVarInt(buf, FluidRegistry.getFluidID(fluid.getFluid()) + 1, VARINT_SIZE);
+    ByteBufUtils.writeVarInt(buf, Math.max(0, fluid.amount), VARINT_SIZE);
+    if(fluid.tag != null) {
+      buf.writeBoolean(true);
+      ByteBufUtils.writeTag(buf, fluid.tag);
+    }
+    else {
+      buf.writeBoolean(false);
+    }
+  }
+
+  /** @return The fluid, or null if there was none or the id is unknown */
+  @Nullable
+  public static FluidStack readFluid(ByteBuf buf) {
+    int id = ByteBufUtils.readVarInt(buf, VARINT_SIZE) - 1;
+    if(id < 0) {
+      return null;
+    }
+
+    int amount = ByteBufUtils.readVarInt(buf, VARINT_SIZE);
+    NBTTagCompound tag = null;
+    if(buf.readBoolean()) {
+      tag = ByteBufUtils.readTag(buf);
+    }
+
+    Fluid fluid = FluidRegistry.getFluid(id);
+    if(fluid == null) {
+      return null;
+    }
+    return new FluidStack(fluid, amount, tag);
+  }
+
+  public static void writeFluids(ByteBuf buf, List<FluidStack> fluids) {
+    ByteBufUtils.writeVarInt(buf, fluids.size(), VARINT_SIZE);
+    for(FluidStack fluid : fluids) {
+      writeFluid(buf, fluid);
+    }
+  }
+
+  /** Unknown fluids are skipped */
+  public static List<FluidStack> readFluids(ByteBuf buf) {
+    int size = ByteBufUtils.readVarInt(buf, VARINT_SIZE);
+    List<FluidStack> fluids = new ArrayList<FluidStack>(size);
+    for(int i = 0; i < size; i++) {
+      FluidStack fluid = readFluid(buf);
+      if(fluid != null) {
+        fluids.add(fluid);
+      }
+    }
+    return fluids;
+  }
+
+  /** Encodes the fluids into a byte array, to put them into the NBT of tile entity update packets */
+  public static byte[] encodeFluids(List<FluidStack> fluids) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      writeFluids(buf, fluids);
+      byte[] data = new byte[buf.readableBytes()];
+      buf.readBytes(data);
+      return data;
+    } finally {
+      buf.release();
+    }
+  }
+
+  public static List<FluidStack> decodeFluids(byte[] data) {
+    ByteBuf buf = Unpooled.wrappedBuffer(data);
+    try {
+      return readFluids(buf);
+    } finally {
+      buf.release();
+    }
+  }
+}
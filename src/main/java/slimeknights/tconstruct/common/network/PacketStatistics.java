@@ -0,0 +1,161 @@
+package slimeknights.tconstruct.common.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import slimeknights.mantle.network.AbstractPacket;
+
+/**
+ * Counts the sends, received packets and bytes of everything sent through the TinkerNetwork, per packet class.
+ * Besides the totals every packet class keeps a rolling rate over the last minute.
+ * <br>
+ * Knowing the size of a packet means encoding it a second time, so counting is off unless enabled in the config or
+ * with the net command. Packets can be sent from the client and the server thread, so recording is synchronized.
+ */
+public class PacketStatistics {
+
+  /** Seconds the rolling rate covers */
+  public static final int WINDOW = 60;
+
+  private static boolean enabled;
+
+  private static final Map<Class<?>, Stats> stats = Maps.newHashMap();
+  private static long startTime = System.currentTimeMillis();
+
+  private PacketStatistics() {
+  }
+
+  public static class Stats {
+
+    public final String name;
+    public long sends; // how often the packet was sent, no matter to how many players
+    public long packets; // copies received by players
+    public long bytes;
+
+    // bytes sent to all recipients per second, the index is the second modulo the window
+    private final long[] bucketBytes = new long[WINDOW];
+    private final long[] bucketPackets = new long[WINDOW];
+    private final long[] bucketSecond = new long[WINDOW];
+
+    Stats(String name) {
+      this.name = name;
+    }
+
+    void add(int size, int recipients, long second) {
+      this.sends++;
+      this.packets += recipients;
+      this.bytes += (long) size * recipients;
+
+      int index = (int) (second % WINDOW);
+      if(bucketSecond[index] != second) {
+        bucketSecond[index] = second;
+        bucketBytes[index] = 0;
+        bucketPackets[index] = 0;
+      }
+      bucketBytes[index] += (long) size * recipients;
+      bucketPackets[index] += recipients;
+    }
+
+    /** @return Average bytes per second over the finished seconds of the window */
+    public double getByteRate(long second) {
+      return sumWindow(bucketBytes, second) / (double) WINDOW;
+    }
+
+    /** @return Average packets per second over the finished seconds of the window */
+    public double getPacketRate(long second) {
+      return sumWindow(bucketPackets, second) / (double) WINDOW;
+    }
+
+    private long sumWindow(long[] buckets, long second) {
+      long sum = 0;
+      for(int i = 0; i < WINDOW; i++) {
+        // the current second isn't over yet
+        if(bucketSecond[i] < second && bucketSecond[i] >= second - WINDOW) {
+          sum += buckets[i];
+        }
+      }
+      return sum;
+    }
+  }
+
+  private static final Comparator<Stats> MOST_BYTES = new Comparator<Stats>() {
+    @Override
+    public int compare(Stats o1, Stats o2) {
+      return Long.compare(o2.bytes, o1.bytes);
+    }
+  };
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Turns counting on or off. Collected data is kept until {@link #reset()} */
+  public static void setEnabled(boolean enabled) {
+    PacketStatistics.enabled = enabled;
+  }
+
+  /**
+   * Counts a packet that is sent to the given amount of players. A packet sent to several players is encoded
+   * once and sent as a copy to each of them, so each recipient counts as a packet.
+   */
+  public static void record(AbstractPacket packet, int recipients) {
+    if(!enabled || recipients <= 0) {
+      return;
+    }
+
+    int size = getSize(packet);
+    long second = System.currentTimeMillis() / 1000L;
+    synchronized(stats) {
+      Stats stat = stats.get(packet.getClass());
+      if(stat == null) {
+        stat = new Stats(packet.getClass().getSimpleName());
+        stats.put(packet.getClass(), stat);
+      }
+      stat.add(size, recipients, second);
+    }
+  }
+
+  private static int getSize(AbstractPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      packet.toBytes(buf);
+      // the channel adds one byte for the packet discriminator
+      return buf.readableBytes() + 1;
+    } finally {
+      buf.release();
+    }
+  }
+
+  public static void reset() {
+    synchronized(stats) {
+      stats.clear();
+      startTime = System.currentTimeMillis();
+    }
+  }
+
+  /** @return A human readable report of everything counted since the last reset, most bytes first */
+  public static List<String> getReport() {
+    long second = System.currentTimeMillis() / 1000L;
+    List<String> lines = Lists.newArrayList();
+    synchronized(stats) {
+      lines.add(String.format(Locale.US, "Tinkers network traffic over %.1f s%s", (System.currentTimeMillis() - startTime) / 1000f,
+                              enabled ? "" : " (not counting)"));
+      List<Stats> list = Lists.newArrayList(stats.values());
+      Collections.sort(list, MOST_BYTES);
+      for(Stats stat : list) {
+        lines.add(String.format(Locale.US, "  %s: %d sends, %d packets, %.1f KiB total, %.1f packets/s, %.2f KiB/s",
+                                stat.name, stat.sends, stat.packets, stat.bytes / 1024d,
+                                stat.getPacketRate(second), stat.getByteRate(second) / 1024d));
+      }
+    }
+    return lines;
+  }
+}
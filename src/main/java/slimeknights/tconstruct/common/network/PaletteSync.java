@@ -0,0 +1,135 @@
+package slimeknights.tconstruct.common.network;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldSavedData;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import slimeknights.tconstruct.common.TinkerNetwork;
+import slimeknights.tconstruct.library.TinkerRegistry;
+import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.utils.IdentifierPalette;
+import slimeknights.tconstruct.library.utils.TagUtil;
+
+/**
+ * Keeps the material, trait and modifier ids the same for a world and all players on it.
+ * The server loads the palettes saved with the world when the overworld loads and saves them again with all newly
+ * registered identifiers appended. Every player gets the palettes of the server when logging in.
+ */
+public class PaletteSync {
+
+  public static final PaletteSync INSTANCE = new PaletteSync();
+
+  private static final Logger log = Util.getLogger("Palette");
+  private static final String DATA_NAME = "TConstruct_Palettes";
+
+  private PaletteSync() {
+  }
+
+  public static List<IdentifierPalette<?>> getPalettes() {
+    return ImmutableList.<IdentifierPalette<?>>of(TinkerRegistry.getMaterialPalette(),
+                                                  TinkerRegistry.getTraitPalette(),
+                                                  TinkerRegistry.getModifierPalette());
+  }
+
+  /** Loads the given orders into the palettes with the same name */
+  public static void load(Map<String, List<String>> orders) {
+    for(IdentifierPalette<?> palette : getPalettes()) {
+      List<String> order = orders.get(palette.getName());
+      if(order != null) {
+        palette.load(order);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public void onWorldLoad(WorldEvent.Load event) {
+    World world = event.getWorld();
+    // the map storage is shared by all dimensions of the server
+    if(world.isRemote || world.provider.getDimension() != 0) {
+      return;
+    }
+
+    Data data = (Data) world.getMapStorage().getOrLoadData(Data.class, DATA_NAME);
+    if(data == null) {
+      data = new Data(DATA_NAME);
+      world.getMapStorage().setData(DATA_NAME, data);
+    }
+
+    // a new world has no saved orders yet, but the ids given out now are the ones that get saved with it
+    for(IdentifierPalette<?> palette : getPalettes()) {
+      List<String> order = data.orders.get(palette.getName());
+      palette.load(order != null ? order : ImmutableList.<String>of());
+    }
+    // save the new identifiers, so they keep their id even if their mod is removed and added again
+    for(IdentifierPalette<?> palette : getPalettes()) {
+      List<String> order = palette.getIdentifiers();
+      if(!order.equals(data.orders.get(palette.getName()))) {
+        data.orders.put(palette.getName(), order);
+        data.markDirty();
+      }
+    }
+    log.debug("Loaded palettes with {} materials, {} traits and {} modifiers",
+              TinkerRegistry.getMaterialPalette().size(),
+              TinkerRegistry.getTraitPalette().size(),
+              TinkerRegistry.getModifierPalette().size());
+  }
+
+  @SubscribeEvent
+  public void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+    if(event.player instanceof EntityPlayerMP) {
+      TinkerNetwork.sendTo(new PaletteSyncPacket(getPalettes()), (EntityPlayerMP) event.player);
+    }
+  }
+
+  public static class Data extends WorldSavedData {
+
+    private final Map<String, List<String>> orders = Maps.newHashMap();
+
+    public Data(String name) {
+      super(name);
+    }
+
+    @Override
+    public void readFromNBT(@Nonnull NBTTagCompound nbt) {
+      orders.clear();
+      for(String key : nbt.getKeySet()) {
+        NBTTagList list = nbt.getTagList(key, TagUtil.TAG_TYPE_STRING);
+        List<String> order = Lists.newArrayListWithCapacity(list.tagCount());
+        for(int i = 0; i < list.tagCount(); i++) {
+          order.add(list.getStringTagAt(i));
+        }
+        orders.put(key, order);
+      }
+    }
+
+    @Nonnull
+    @Override
+    public NBTTagCompound writeToNBT(@Nonnull NBTTagCompound nbt) {
+      for(Map.Entry<String, List<String>> entry : orders.entrySet()) {
+        NBTTagList list = new NBTTagList();
+        for(String identifier : entry.getValue()) {
+          list.appendTag(new NBTTagString(identifier));
+        }
+        nbt.setTag(entry.getKey(), list);
+      }
+      return nbt;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package slimeknights.tconstruct.common.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import slimeknights.mantle.network.AbstractPacket;
+import slimeknights.tconstruct.library.utils.IdentifierPalette;
+
+/** Sends the id palettes of the server to a client, so ids in tool NBT mean the same on both sides */
+public class PaletteSyncPacket extends AbstractPacket {
+
+  private static final int VARINT_SIZE = 5;
+
+  // palette name -> identifiers ordered by id
+  public Map<String, List<String>> orders = Maps.newLinkedHashMap();
+
+  public PaletteSyncPacket() {
+  }
+
+  public PaletteSyncPacket(List<IdentifierPalette<?>> palettes) {
+    for(IdentifierPalette<?> palette : palettes) {
+      orders.put(palette.getName(), palette.getIdentifiers());
+    }
+  }
+
+  @Override
+  public IMessage handleClient(NetHandlerPlayClient netHandler) {
+    // the palettes are threadsafe, and the ids are needed before the first tool gets looked at
+    PaletteSync.load(orders);
+    return null;
+  }
+
+  @Override
+  public IMessage handleServer(NetHandlerPlayServer netHandler) {
+    return null;
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    int count = buf.readByte();
+    for(int i = 0; i < count; i++) {
+      String name = ByteBufUtils.readUTF8String(buf);
+      int size = ByteBufUtils.readVarInt(buf, VARINT_SIZE);
+      List<String> order = Lists.newArrayListWithCapacity(size);
+      for(int j = 0; j < size; j++) {
+        order.add(ByteBufUtils.readUTF8String(buf));
+      }
+      orders.put(name, order);
+    }
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    buf.writeByte(orders.size());
+    for(Map.Entry<String, List<String>> entry : orders.entrySet()) {
+      ByteBufUtils.writeUTF8String(buf, entry.getKey());
+      ByteBufUtils.writeVarInt(buf, entry.getValue().size(), VARINT_SIZE);
+      for(String identifier : entry.getValue()) {
+        ByteBufUtils.writeUTF8String(buf, identifier);
+      }
+    }
+  }
+}
@@ -0,0 +1,282 @@
+package slimeknights.tconstruct.debug;
+
+import com.google.common.collect.Lists;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+
+import slimeknights.tconstruct.library.TinkerRegistry;
+import slimeknights.tconstruct.library.materials.Material;
+import slimeknights.tconstruct.library.modifiers.TinkerGuiException;
+import slimeknights.tconstruct.library.smeltery.AlloyRecipe;
+import slimeknights.tconstruct.library.smeltery.CastingRecipe;
+import slimeknights.tconstruct.library.smeltery.ICastingRecipe;
+import slimeknights.tconstruct.library.smeltery.MeltingRecipe;
+import slimeknights.tconstruct.library.tinkering.PartMaterialType;
+import slimeknights.tconstruct.library.tools.IToolPart;
+import slimeknights.tconstruct.library.tools.ToolCore;
+import slimeknights.tconstruct.library.traits.ITrait;
+import slimeknights.tconstruct.library.utils.TagUtil;
+import slimeknights.tconstruct.library.utils.ToolBuilder;
+
+/**
+ * Times the registry lookups and tool building paths with the recipes and tools that are actually registered,
+ * and writes the results as CSV. Every benchmark gets a warmup round before it is measured.
+ * <br>
+ * This runs in the game because the lookups need the full registry content, which only exists after startup.
+ */
+public class BenchmarkRegistry extends CommandBase {
+
+  private static final int WARMUP_ROUNDS = 5;
+
+  /** A single measured operation, run once per input */
+  private abstract static class Benchmark<T> {
+
+    final String name;
+    final List<T> inputs;
+    long sink; // keeps the results alive so the JIT can't drop the calls
+
+    Benchmark(String name, List<T> inputs) {
+      this.name = name;
+      this.inputs = inputs;
+    }
+
+    abstract Object run(T input) throws Exception;
+
+    /** @return nanoseconds for a single round over all inputs */
+    long round() throws Exception {
+      long start = System.nanoTime();
+      for(T input : inputs) {
+        Object result = run(input);
+        if(result != null) {
+          sink++;
+        }
+      }
+      return System.nanoTime() - start;
+    }
+  }
+
+  @Nonnull
+  @Override
+  public String getCommandName() {
+    return "benchmarkRegistry";
+  }
+
+  @Nonnull
+  @Override
+  public String getCommandUsage(@Nonnull ICommandSender sender) {
+    return "/benchmarkRegistry [iterations]";
+  }
+
+  @Override
+  public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args)
+      throws CommandException {
+    if(args.length > 1) {
+      throw new CommandException("Invalid params");
+    }
+    int iterations = args.length > 0 ? parseInt(args[0], 1) : 100;
+
+    File file = new File("benchmark/registry-" + System.currentTimeMillis() + ".csv");
+    try {
+      file.getParentFile().mkdirs();
+      PrintWriter pw = new PrintWriter(file);
+      pw.println("benchmark,inputs,iterations,total_ms,avg_ns_per_op,min_ns_per_op");
+      for(Benchmark<?> benchmark : createBenchmarks()) {
+        if(benchmark.inputs.isEmpty()) {
+          continue;
+        }
+        for(int i = 0; i < WARMUP_ROUNDS; i++) {
+          benchmark.round();
+        }
+
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        for(int i = 0; i < iterations; i++) {
+          long time = benchmark.round();
+          total += time;
+          min = Math.min(min, time);
+        }
+
+        int ops = benchmark.inputs.size();
+        pw.println(String.format(Locale.US, "%s,%d,%d,%.3f,%.1f,%.1f",
+                                 benchmark.name, ops, iterations, total / 1e6,
+                                 (double) total / iterations / ops, (double) min / ops));
+        sender.addChatMessage(new TextComponentString(String.format(Locale.US, "%s: %.1f ns/op",
+                                                                    benchmark.name, (double) total / iterations / ops)));
+      }
+      pw.close();
+    } catch(IOException e) {
+      TinkerDebug.log.error("Could not write registry benchmark", e);
+      throw new CommandException("Could not write " + file.getPath());
+    } catch(Exception e) {
+      TinkerDebug.log.error("Registry benchmark failed", e);
+      throw new CommandException("Benchmark failed: " + e.getMessage());
+    }
+
+    sender.addChatMessage(new TextComponentString("Registry benchmark written to " + file.getPath()));
+  }
+
+  private List<Benchmark<?>> createBenchmarks() {
+    List<Benchmark<?>> benchmarks = Lists.newArrayList();
+
+    // melting lookup with the first input of every melting recipe
+    List<ItemStack> meltables = Lists.newArrayList();
+    for(MeltingRecipe recipe : TinkerRegistry.getMeltingRecipeView()) {
+      if(recipe.input != null && !recipe.input.getInputs().isEmpty()) {
+        meltables.add(recipe.input.getInputs().get(0));
+      }
+    }
+    benchmarks.add(new Benchmark<ItemStack>("getMelting", meltables) {
+      @Override
+      Object run(ItemStack input) {
+        return TinkerRegistry.getMelting(input);
+      }
+    });
+
+    // casting lookup with the cast and fluid of every table recipe
+    List<CastingQuery> castings = Lists.newArrayList();
+    for(ICastingRecipe recipe : TinkerRegistry.getTableCastingView()) {
+      if(recipe instanceof CastingRecipe) {
+        CastingRecipe castingRecipe = (CastingRecipe) recipe;
+        ItemStack cast = null;
+        if(castingRecipe.cast != null && !castingRecipe.cast.getInputs().isEmpty()) {
+          cast = castingRecipe.cast.getInputs().get(0);
+        }
+        castings.add(new CastingQuery(cast, castingRecipe.getFluid().getFluid()));
+      }
+    }
+    benchmarks.add(new Benchmark<CastingQuery>("getTableCasting", castings) {
+      @Override
+      Object run(CastingQuery input) {
+        return TinkerRegistry.getTableCasting(input.cast, input.fluid);
+      }
+    });
+
+    // every alloy against the fluids it needs
+    final List<AlloyRecipe> alloys = TinkerRegistry.getAlloys();
+    List<List<FluidStack>> alloyInputs = Lists.newArrayList();
+    for(AlloyRecipe alloy : alloys) {
+      alloyInputs.add(alloy.getFluids());
+    }
+    benchmarks.add(new Benchmark<List<FluidStack>>("AlloyRecipe.matches", alloyInputs) {
+      @Override
+      Object run(List<FluidStack> input) {
+        int matches = 0;
+        for(AlloyRecipe alloy : alloys) {
+          matches += alloy.matches(input);
+        }
+        return matches;
+      }
+    });
+
+    // every tool built out of iron parts
+    Material material = TinkerRegistry.getMaterial("iron");
+    List<ItemStack[]> toolParts = Lists.newArrayList();
+    final List<ItemStack> tools = Lists.newArrayList();
+    for(ToolCore tool : TinkerRegistry.getTools()) {
+      ItemStack[] parts = getParts(tool, material);
+      if(parts != null) {
+        toolParts.add(parts);
+        tools.add(tool.buildItem(Arrays.asList(fill(material, parts.length))));
+      }
+    }
+    benchmarks.add(new Benchmark<ItemStack[]>("ToolBuilder.tryBuildTool", toolParts) {
+      @Override
+      Object run(ItemStack[] input) {
+        return ToolBuilder.tryBuildTool(input, "benchmark");
+      }
+    });
+
+    final ItemStack[] modifierInput = new ItemStack[]{new ItemStack(Items.REDSTONE)};
+    benchmarks.add(new Benchmark<ItemStack>("ToolBuilder.tryModifyTool", tools) {
+      @Override
+      Object run(ItemStack input) {
+        try {
+          return ToolBuilder.tryModifyTool(modifierInput, input, false);
+        } catch(TinkerGuiException e) {
+          // not applicable, but it still had to check all modifiers
+          return null;
+        }
+      }
+    });
+
+    benchmarks.add(new Benchmark<ItemStack>("ToolBuilder.rebuildTool", tools) {
+      @Override
+      Object run(ItemStack input) throws Exception {
+        NBTTagCompound tag = TagUtil.getTagSafe(input).copy();
+        ToolBuilder.rebuildTool(tag, (ToolCore) input.getItem());
+        return tag;
+      }
+    });
+
+    // same lookup the trait callbacks do for every event
+    benchmarks.add(new Benchmark<ItemStack>("traitDispatch", tools) {
+      @Override
+      Object run(ItemStack input) {
+        int found = 0;
+        NBTTagList list = TagUtil.getTraitsTagList(input);
+        for(int i = 0; i < list.tagCount(); i++) {
+          ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+          if(trait != null) {
+            found++;
+          }
+        }
+        return found;
+      }
+    });
+
+    return benchmarks;
+  }
+
+  private static ItemStack[] getParts(ToolCore tool, Material material) {
+    List<PartMaterialType> components = tool.getRequiredComponents();
+    ItemStack[] parts = new ItemStack[components.size()];
+    for(int i = 0; i < parts.length; i++) {
+      for(IToolPart part : components.get(i).getPossibleParts()) {
+        if(components.get(i).isValid(part, material)) {
+          parts[i] = part.getItemstackWithMaterial(material);
+          break;
+        }
+      }
+      if(parts[i] == null) {
+        return null;
+      }
+    }
+    return parts;
+  }
+
+  private static Material[] fill(Material material, int count) {
+    Material[] materials = new Material[count];
+    Arrays.fill(materials, material);
+    return materials;
+  }
+
+  private static class CastingQuery {
+
+    final ItemStack cast;
+    final Fluid fluid;
+
+    CastingQuery(ItemStack cast, Fluid fluid) {
+      this.cast = cast;
+      this.fluid = fluid;
+    }
+  }
+}
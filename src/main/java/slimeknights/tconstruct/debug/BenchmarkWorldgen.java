@@ -0,0 +1,352 @@
+package slimeknights.tconstruct.debug;
+
+import com.google.common.collect.Lists;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.IChunkGenerator;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.fml.common.IWorldGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.library.tasks.IWorldTask;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
+import slimeknights.tconstruct.shared.TinkerCommons;
+import slimeknights.tconstruct.shared.TinkerFluids;
+import slimeknights.tconstruct.shared.block.BlockSlime;
+import slimeknights.tconstruct.shared.worldgen.NetherOreGenerator;
+import slimeknights.tconstruct.world.TinkerWorld;
+import slimeknights.tconstruct.world.block.BlockSlimeGrass;
+import slimeknights.tconstruct.world.worldgen.MagmaSlimeIslandGenerator;
+import slimeknights.tconstruct.world.worldgen.SlimeIslandGenerator;
+import slimeknights.tconstruct.world.worldgen.SlimeLakeGenerator;
+import slimeknights.tconstruct.world.worldgen.SlimeTreeGenerator;
+
+/**
+ * Runs only the Tinkers world generators on a square of chunks around the sender and writes the results as CSV.
+ * The chunks themselves are loaded before measuring, so vanilla generation doesn't show up in the numbers.
+ * The work is spread over several ticks by the {@link TaskScheduler}, one chunk per step.
+ * For runs without a client, use it on a dedicated server.
+ * <br>
+ * The generated islands, lakes and ores stay in the world for good, so this is meant for throwaway worlds.
+ * It only runs in superflat worlds unless confirmed.
+ * <br>
+ * Placed blocks are counted by comparing the chunks around the generated one before and after each generator, which
+ * includes the blocks islands write directly into the chunks. Lighting updates are counted through a world listener,
+ * so they only include the ones the world reports.
+ */
+public class BenchmarkWorldgen extends CommandBase {
+
+  private static final String CONFIRM = "confirm";
+
+  @Nonnull
+  @Override
+  public String getCommandName() {
+    return "benchmarkWorldgen";
+  }
+
+  @Nonnull
+  @Override
+  public String getCommandUsage(@Nonnull ICommandSender sender) {
+    return "/benchmarkWorldgen <radius in chunks> [island rate] [confirm] - permanently adds the generated structures to the world, only use it in throwaway worlds. Worlds that aren't superflat need confirm";
+  }
+
+  @Override
+  public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args)
+      throws CommandException {
+    boolean confirmed = args.length > 0 && CONFIRM.equals(args[args.length - 1]);
+    int params = confirmed ? args.length - 1 : args.length;
+    if(params < 1 || params > 2) {
+      throw new CommandException("Invalid params");
+    }
+    World world = sender.getEntityWorld();
+    if(!(world instanceof WorldServer)) {
+      throw new CommandException("Needs a server world");
+    }
+    // everything generated stays in the save
+    if(!confirmed && world.getWorldType() != WorldType.FLAT) {
+      throw new CommandException("This permanently adds islands, lakes and ores to the world. Use a superflat throwaway world, or add " + CONFIRM + " to run it anyway");
+    }
+
+    int radius = parseInt(args[0], 0, 64);
+    int rate = params > 1 ? parseInt(args[1], 1) : -1;
+    BlockPos pos = sender.getPosition();
+
+    TaskScheduler.schedule(world, new Benchmark((WorldServer) world, sender, pos.getX() >> 4, pos.getZ() >> 4, radius, rate));
+    sender.addChatMessage(new TextComponentString(String.format(Locale.US, "Benchmarking Tinkers worldgen on %d chunks...", (2 * radius + 1) * (2 * radius + 1))));
+  }
+
+  /** Timings of a single generator */
+  private static class GeneratorStats {
+
+    final String name;
+    final IWorldGenerator generator;
+    int calls;
+    long nanos;
+    long blocks;
+    long lightUpdates;
+
+    GeneratorStats(String name, IWorldGenerator generator) {
+      this.name = name;
+      this.generator = generator;
+    }
+  }
+
+  private static class Benchmark implements IWorldTask {
+
+    // chunks around the generated one that generators may write into
+    private static final int AREA = 2;
+    private static final int AREA_CHUNKS = (2 * AREA + 1) * (2 * AREA + 1);
+
+    private final WorldServer world;
+    private final ICommandSender sender;
+    private final int centerX, centerZ, radius, rate;
+    private final List<GeneratorStats> stats = Lists.newArrayList();
+    private final CountingListener listener = new CountingListener();
+    private final long xSeed, zSeed;
+    private final Random random = new Random();
+
+    private int index;
+    private boolean finished;
+    private long totalNanos;
+
+    Benchmark(WorldServer world, ICommandSender sender, int centerX, int centerZ, int radius, int rate) {
+      this.world = world;
+      this.sender = sender;
+      this.centerX = centerX;
+      this.centerZ = centerZ;
+      this.radius = radius;
+      this.rate = rate;
+
+      // same seeds as forge uses for world generators
+      Random fmlRandom = new Random(world.getSeed());
+      xSeed = fmlRandom.nextLong() >> 2 + 1L;
+      zSeed = fmlRandom.nextLong() >> 2 + 1L;
+
+      stats.add(new GeneratorStats("SlimeIslandGenerator", SlimeIslandGenerator.INSTANCE));
+      stats.add(new GeneratorStats("MagmaSlimeIslandGenerator", MagmaSlimeIslandGenerator.INSTANCE));
+      stats.add(new GeneratorStats("NetherOreGenerator", NetherOreGenerator.INSTANCE));
+
+      // trees and lakes are normally only used by the islands, run them on their own too
+      IBlockState slimeGreen = TinkerCommons.blockSlimeCongealed.getDefaultState().withProperty(BlockSlime.TYPE, BlockSlime.SlimeType.GREEN);
+      IBlockState slimeBlue = TinkerCommons.blockSlimeCongealed.getDefaultState().withProperty(BlockSlime.TYPE, BlockSlime.SlimeType.BLUE);
+      IBlockState leaves = TinkerWorld.slimeLeaves.getDefaultState().withProperty(BlockSlimeGrass.FOLIAGE, BlockSlimeGrass.FoliageType.BLUE);
+      IBlockState fluid = TinkerFluids.blueslime != null ? TinkerFluids.blueslime.getBlock().getDefaultState() : Blocks.WATER.getDefaultState();
+      stats.add(new GeneratorStats("SlimeTreeGenerator", new SlimeTreeGenerator(5, 4, slimeGreen, leaves, TinkerWorld.slimeVineBlue3.getDefaultState())));
+      stats.add(new GeneratorStats("SlimeLakeGenerator", new SlimeLakeGenerator(fluid, slimeBlue, slimeGreen, slimeBlue)));
+    }
+
+    private int getChunkCount() {
+      return (2 * radius + 1) * (2 * radius + 1);
+    }
+
+    @Override
+    public void onTickStart() {
+    }
+
+    @Override
+    public boolean step() {
+      if(index >= getChunkCount()) {
+        finished = true;
+        return false;
+      }
+
+      int chunkX = centerX - radius + index % (2 * radius + 1);
+      int chunkZ = centerZ - radius + index / (2 * radius + 1);
+      index++;
+
+      // islands reach into the neighbouring chunks, make sure those exist before measuring
+      for(int x = -AREA; x <= AREA; x++) {
+        for(int z = -AREA; z <= AREA; z++) {
+          world.getChunkFromChunkCoords(chunkX + x, chunkZ + z);
+        }
+      }
+
+      IChunkGenerator chunkGenerator = world.getChunkProvider().chunkGenerator;
+      long chunkSeed = (xSeed * chunkX + zSeed * chunkZ) ^ world.getSeed();
+
+      int oldSlimeRate = Config.slimeIslandsRate;
+      int oldMagmaRate = Config.magmaIslandsRate;
+      if(rate > 0) {
+        Config.slimeIslandsRate = rate;
+        Config.magmaIslandsRate = rate;
+      }
+      world.addEventListener(listener);
+      try {
+        for(GeneratorStats stat : stats) {
+          random.setSeed(chunkSeed);
+          listener.reset();
+          IBlockState[][] before = snapshot(chunkX, chunkZ);
+
+          long start = System.nanoTime();
+          stat.generator.generate(random, chunkX, chunkZ, world, chunkGenerator, world.getChunkProvider());
+          long time = System.nanoTime() - start;
+
+          stat.calls++;
+          stat.nanos += time;
+          stat.blocks += countChanges(before, chunkX, chunkZ);
+          stat.lightUpdates += listener.lightUpdates;
+          totalNanos += time;
+        }
+      } finally {
+        world.removeEventListener(listener);
+        Config.slimeIslandsRate = oldSlimeRate;
+        Config.magmaIslandsRate = oldMagmaRate;
+      }
+
+      // one chunk per tick
+      return false;
+    }
+
+    /** The block states of all chunk sections around the chunk, null for empty sections */
+    private IBlockState[][] snapshot(int chunkX, int chunkZ) {
+      IBlockState[][] states = new IBlockState[AREA_CHUNKS * 16][];
+      int i = 0;
+      for(int x = -AREA; x <= AREA; x++) {
+        for(int z = -AREA; z <= AREA; z++) {
+          for(ExtendedBlockStorage section : world.getChunkFromChunkCoords(chunkX + x, chunkZ + z).getBlockStorageArray()) {
+            if(section != null) {
+              IBlockState[] sectionStates = new IBlockState[4096];
+              for(int index = 0; index < 4096; index++) {
+                sectionStates[index] = section.get(index & 15, index >> 8, (index >> 4) & 15);
+              }
+              states[i] = sectionStates;
+            }
+            i++;
+          }
+        }
+      }
+      return states;
+    }
+
+    /** @return How many blocks differ from the snapshot */
+    private long countChanges(IBlockState[][] before, int chunkX, int chunkZ) {
+      IBlockState air = Blocks.AIR.getDefaultState();
+      long changes = 0;
+      int i = 0;
+      for(int x = -AREA; x <= AREA; x++) {
+        for(int z = -AREA; z <= AREA; z++) {
+          for(ExtendedBlockStorage section : world.getChunkFromChunkCoords(chunkX + x, chunkZ + z).getBlockStorageArray()) {
+            IBlockState[] old = before[i++];
+            if(old == null && section == null) {
+              continue;
+            }
+            for(int index = 0; index < 4096; index++) {
+              IBlockState oldState = old != null ? old[index] : air;
+              IBlockState newState = section != null ? section.get(index & 15, index >> 8, (index >> 4) & 15) : air;
+              if(oldState != newState) {
+                changes++;
+              }
+            }
+          }
+        }
+      }
+      return changes;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return finished;
+    }
+
+    @Override
+    public void onFinish() {
+      File file = new File("benchmark/worldgen-" + System.currentTimeMillis() + ".csv");
+      try {
+        file.getParentFile().mkdirs();
+        PrintWriter pw = new PrintWriter(file);
+        pw.println("generator,chunks,total_ms,avg_us_per_chunk,blocks_placed,lighting_updates");
+        for(GeneratorStats stat : stats) {
+          pw.println(String.format(Locale.US, "%s,%d,%.3f,%.3f,%d,%d",
+                                   stat.name, stat.calls, stat.nanos / 1e6, stat.calls > 0 ? stat.nanos / 1e3 / stat.calls : 0d,
+                                   stat.blocks, stat.lightUpdates));
+        }
+        pw.close();
+      } catch(IOException e) {
+        TinkerDebug.log.error("Could not write worldgen benchmark", e);
+      }
+
+      sender.addChatMessage(new TextComponentString(String.format(Locale.US, "Worldgen benchmark done: %d chunks in %.1f ms, written to %s",
+                                                                  getChunkCount(), totalNanos / 1e6, file.getPath())));
+    }
+  }
+
+  /** Counts the light updates the world reports */
+  private static class CountingListener implements IWorldEventListener {
+
+    long lightUpdates;
+
+    void reset() {
+      lightUpdates = 0;
+    }
+
+    @Override
+    public void notifyBlockUpdate(@Nonnull World worldIn, @Nonnull BlockPos pos, @Nonnull IBlockState oldState, @Nonnull IBlockState newState, int flags) {
+    }
+
+    @Override
+    public void notifyLightSet(@Nonnull BlockPos pos) {
+      lightUpdates++;
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, @Nonnull SoundEvent soundIn, @Nonnull SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(@Nonnull SoundEvent soundIn, @Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Entity entityIn) {
+    }
+
+    @Override
+    public void onEntityRemoved(@Nonnull Entity entityIn) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, @Nonnull BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, @Nonnull BlockPos blockPosIn, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, @Nonnull BlockPos pos, int progress) {
+    }
+  }
+}
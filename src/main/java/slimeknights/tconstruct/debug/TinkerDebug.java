@@ -22,6 +22,7 @@ import slimeknights.mantle.pulsar.pulse.Pulse;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.modifiers.IModifier;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 
 @Pulse(id = TinkerDebug.PulseId, description = "Debug utilities", defaultEnable = false)
 public class TinkerDebug {
@@ -31,15 +32,19 @@ public class TinkerDebug {
 
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     if(event.getSide().isClient()) {
       ClientCommandHandler.instance.registerCommand(new ReloadResources());
     }
+    StartupProfiler.end();
   }
 
   @Subscribe
   public void serverStart(FMLServerStartingEvent event) {
     event.registerServerCommand(new DamageTool());
     event.registerServerCommand(new TestTool());
+    event.registerServerCommand(new BenchmarkWorldgen());
+    event.registerServerCommand(new BenchmarkRegistry());
 
     if(event.getSide().isClient()) {
       ClientCommandHandler.instance.registerCommand(new LocalizationCheckCommand());
@@ -0,0 +1,137 @@
+package slimeknights.tconstruct.gadgets;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Precomputes which positions lie inside an explosion sphere of a given radius.
+ * The offsets are packed into a single int each and sorted from the center outwards, so an explosion can simply walk
+ * the array instead of testing every position of the surrounding cube. The tables are cached per whole radius up to
+ * {@link #MAX_CACHED_RADIUS}, a fractional radius uses the start of the table of the next whole radius.
+ */
+public final class BlastPlanner {
+
+  private static final int BITS = 10;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int BIAS = 1 << (BITS - 1);
+  /** Largest supported radius */
+  public static final int MAX_RADIUS = BIAS - 1;
+  /** Larger radii get computed for every explosion instead of being kept, all cached tables are about 5 MB at most */
+  public static final int MAX_CACHED_RADIUS = 32;
+
+  private static final TIntObjectHashMap<int[]> offsetCache = new TIntObjectHashMap<int[]>();
+
+  private BlastPlanner() {
+  }
+
+  /**
+   * Returns all offsets with a squared distance of at most r*r to the center, sorted by distance.
+   * Positions with the same distance are sorted top to bottom. The returned array may be shared, don't modify it.
+   */
+  public static int[] getOffsets(double r) {
+    if(r < 0) {
+      return new int[0];
+    }
+    r = Math.min(r, MAX_RADIUS);
+    int radius = (int) Math.ceil(r);
+    // distances are whole numbers, so everything up to the rounded down r*r is inside
+    int maxDistSq = (int) (r * r);
+
+    if(radius > MAX_CACHED_RADIUS) {
+      return computeOffsets(radius, maxDistSq);
+    }
+
+    int[] offsets;
+    synchronized(offsetCache) {
+      offsets = offsetCache.get(radius);
+      if(offsets == null) {
+        offsets = computeOffsets(radius, radius * radius);
+        offsetCache.put(radius, offsets);
+      }
+    }
+
+    // sorted by distance, so the offsets inside r are the start of the table
+    int count = countWithin(offsets, maxDistSq);
+    return count == offsets.length ? offsets : Arrays.copyOf(offsets, count);
+  }
+
+  private static int countWithin(int[] offsets, int maxDistSq) {
+    int low = 0;
+    int high = offsets.length;
+    while(low < high) {
+      int mid = (low + high) >>> 1;
+      if(distanceSq(offsets[mid]) <= maxDistSq) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int[] computeOffsets(int dist, int maxDistSq) {
+    // count first so we don't need a growing list
+    int count = 0;
+    for(int y = -dist; y <= dist; y++) {
+      for(int z = -dist; z <= dist; z++) {
+        for(int x = -dist; x <= dist; x++) {
+          if(x * x + y * y + z * z <= maxDistSq) {
+            count++;
+          }
+        }
+      }
+    }
+
+    // sort keys ordered by distance, then top to bottom, then z and x
+    // the coordinates are part of the key, so the offsets can be rebuilt from them without boxing
+    long[] keys = new long[count];
+    int i = 0;
+    for(int y = -dist; y <= dist; y++) {
+      for(int z = -dist; z <= dist; z++) {
+        for(int x = -dist; x <= dist; x++) {
+          int distSq = x * x + y * y + z * z;
+          if(distSq <= maxDistSq) {
+            keys[i++] = (long) distSq << (3 * BITS) | (long) (MASK - ((y + BIAS) & MASK)) << (2 * BITS)
+                        | ((z + BIAS) & MASK) << BITS | ((x + BIAS) & MASK);
+          }
+        }
+      }
+    }
+    Arrays.sort(keys);
+
+    int[] offsets = new int[count];
+    for(i = 0; i < count; i++) {
+      long key = keys[i];
+      int y = MASK - (int) ((key >> (2 * BITS)) & MASK) - BIAS;
+      int z = (int) ((key >> BITS) & MASK) - BIAS;
+      int x = (int) (key & MASK) - BIAS;
+      offsets[i] = pack(x, y, z);
+    }
+    return offsets;
+  }
+
+  public static int pack(int x, int y, int z) {
+    return ((x + BIAS) & MASK) << (2 * BITS) | ((y + BIAS) & MASK) << BITS | ((z + BIAS) & MASK);
+  }
+
+  public static int x(int packed) {
+    return ((packed >> (2 * BITS)) & MASK) - BIAS;
+  }
+
+  public static int y(int packed) {
+    return ((packed >> BITS) & MASK) - BIAS;
+  }
+
+  public static int z(int packed) {
+    return (packed & MASK) - BIAS;
+  }
+
+  public static int distanceSq(int packed) {
+    int x = x(packed);
+    int y = y(packed);
+    int z = z(packed);
+    return x * x + y * y + z * z;
+  }
+}
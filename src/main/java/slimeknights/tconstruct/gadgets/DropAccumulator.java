@@ -0,0 +1,133 @@
+package slimeknights.tconstruct.gadgets;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects item drops and merges equal items, including their NBT, into a single counter.
+ * The merged items can then be taken out again in stacks as large as possible.
+ */
+public class DropAccumulator {
+
+  // drop -> index into templates/counts
+  private final TObjectIntHashMap<DropKey> index = new TObjectIntHashMap<DropKey>(16, 0.5f, -1);
+  // reused for lookups so adding an already known item doesn't allocate
+  private final DropKey probe = new DropKey();
+
+  private ItemStack[] templates = new ItemStack[16];
+  private int[] counts = new int[16];
+  private int size;
+  private int total;
+
+  public void add(@Nullable ItemStack stack) {
+    if(stack == null || stack.getItem() == null || stack.stackSize <= 0) {
+      return;
+    }
+
+    probe.set(stack.getItem(), stack.getMetadata(), stack.getTagCompound());
+    int i = index.get(probe);
+    if(i < 0) {
+      i = size++;
+      if(i >= templates.length) {
+        templates = Arrays.copyOf(templates, templates.length * 2);
+        counts = Arrays.copyOf(counts, counts.length * 2);
+      }
+      ItemStack template = stack.copy();
+      template.stackSize = 1;
+      templates[i] = template;
+      counts[i] = 0;
+
+      DropKey key = new DropKey();
+      key.set(template.getItem(), template.getMetadata(), template.getTagCompound());
+      index.put(key, i);
+    }
+
+    counts[i] += stack.stackSize;
+    total += stack.stackSize;
+  }
+
+  public boolean isEmpty() {
+    return total <= 0;
+  }
+
+  /** Total amount of items contained */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * Removes the next stack. The stack is as large as the item allows.
+   *
+   * @return the stack, or null if empty
+   */
+  @Nullable
+  public ItemStack poll() {
+    // take from the back so finished entries can just be dropped
+    while(size > 0) {
+      int i = size - 1;
+      if(counts[i] > 0) {
+        ItemStack stack = templates[i].copy();
+        stack.stackSize = Math.min(counts[i], stack.getMaxStackSize());
+        counts[i] -= stack.stackSize;
+        total -= stack.stackSize;
+        return stack;
+      }
+
+      // entry is used up
+      probe.set(templates[i].getItem(), templates[i].getMetadata(), templates[i].getTagCompound());
+      index.remove(probe);
+      templates[i] = null;
+      size--;
+    }
+
+    return null;
+  }
+
+  private static class DropKey {
+
+    private Item item;
+    private int meta;
+    @Nullable
+    private NBTTagCompound tag;
+    private int hash;
+
+    void set(Item item, int meta, @Nullable NBTTagCompound tag) {
+      this.item = item;
+      this.meta = meta;
+      this.tag = tag;
+
+      int h = System.identityHashCode(item);
+      h = 31 * h + meta;
+      h = 31 * h + (tag != null ? tag.hashCode() : 0);
+      this.hash = h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if(this == o) {
+        return true;
+      }
+      if(!(o instanceof DropKey)) {
+        return false;
+      }
+
+      DropKey other = (DropKey) o;
+      return hash == other.hash
+             && item == other.item
+             && meta == other.meta
+             && (tag == null ? other.tag == null : tag.equals(other.tag));
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
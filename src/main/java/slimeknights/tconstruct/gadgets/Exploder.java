@@ -2,18 +2,16 @@ package slimeknights.tconstruct.gadgets;
 
 import com.google.common.base.Predicate;
 
-import gnu.trove.map.hash.TObjectIntHashMap;
-import gnu.trove.procedure.TObjectIntProcedure;
-
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.SoundEvents;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -22,22 +20,21 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.Explosion;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.ForgeEventFactory;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
-
-import org.apache.commons.lang3.tuple.Pair;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
 
 import java.util.List;
-import java.util.Random;
 
 import javax.annotation.Nullable;
 
 import slimeknights.tconstruct.common.TinkerNetwork;
+import slimeknights.tconstruct.library.tasks.IWorldTask;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
 import slimeknights.tconstruct.tools.network.EntityMovementChangePacket;
 
-public class Exploder {
+public class Exploder implements IWorldTask {
 
   public final double r;
   public final double rr;
@@ -49,10 +46,19 @@ public class Exploder {
   public final Entity exploder;
   public final Explosion explosion;
 
-  protected int currentRadius;
-  private int curX, curY, curZ;
+  // all positions inside the explosion, from the center outwards
+  protected final int[] offsets;
+  protected int currentIndex;
+  private int count;
+  private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
 
-  protected TObjectIntHashMap<Pair<Item, Integer>> droppedItems; // map containing all items dropped by the explosion and their amounts
+  protected final DropAccumulator droppedItems; // all items dropped by the explosion and their amounts
+  // items get released over several ticks once all blocks are gone
+  private static final int DROPS_PER_TICK = 8;
+  private int droppedThisTick;
+  private boolean searchedInventory;
+  @Nullable
+  private IItemHandler dropInventory;
 
   public Exploder(World world, Explosion explosion, Entity exploder, BlockPos location, double r, double explosionStrength, int blocksPerIteration) {
     this.r = r;
@@ -63,34 +69,21 @@ public class Exploder {
     this.dist = (int) r + 1;
     this.explosionStrength = explosionStrength;
     this.blocksPerIteration = blocksPerIteration;
-    this.currentRadius = 0;
+    this.offsets = BlastPlanner.getOffsets(r);
+    this.currentIndex = 0;
 
     this.x = location.getX();
     this.y = location.getY();
     this.z = location.getZ();
 
-    this.curX = 0;
-    this.curY = 0;
-    this.curZ = 0;
-
-    this.droppedItems = new TObjectIntHashMap<Pair<Item, Integer>>();
+    this.droppedItems = new DropAccumulator();
   }
 
   public static void startExplosion(World world, Explosion explosion, Entity entity, BlockPos location, double r, double explosionStrength) {
     Exploder exploder = new Exploder(world, explosion, entity, location, r, explosionStrength, Math.max(50, (int) (r * r * r / 10d)));
     exploder.handleEntities();
     world.playSound(null, location, SoundEvents.ENTITY_GENERIC_EXPLODE, SoundCategory.BLOCKS, 4.0F, (1.0F + (world.rand.nextFloat() - world.rand.nextFloat()) * 0.2F) * 0.7F);
-    MinecraftForge.EVENT_BUS.register(exploder);
-  }
-
-  @SubscribeEvent
-  public void onTick(TickEvent.WorldTickEvent event) {
-    if(event.world == world && event.phase == TickEvent.Phase.END) {
-      if(!iteration()) {
-        // goodbye world, we're done exploding
-        finish();
-      }
-    }
+    TaskScheduler.schedule(world, exploder);
   }
 
   void handleEntities() {
@@ -135,85 +128,106 @@ public class Exploder {
     }
   }
 
-  private void finish() {
-    final int d = (int) r / 2;
-    final BlockPos pos = new BlockPos(x - d, y - d, z - d);
-    final Random random = new Random();
-    // drop items
-    droppedItems.forEachEntry(new TObjectIntProcedure<Pair<Item, Integer>>() {
-      @Override
-      public boolean execute(Pair<Item, Integer> a, int b) {
-        BlockPos spawnPos = pos.add(random.nextInt((int) r), random.nextInt((int) r), random.nextInt((int) r));
-        do {
-          int c = Math.min(b, 64);
-          Block.spawnAsEntity(world, spawnPos, new ItemStack(a.getKey(), c, a.getValue()));
-          b -= c;
-        } while(b > 0);
-        return true;
-      }
-    });
-    MinecraftForge.EVENT_BUS.unregister(this);
+  @Override
+  public boolean isFinished() {
+    return currentIndex >= offsets.length && droppedItems.isEmpty();
+  }
+
+  @Override
+  public void onFinish() {
+    // goodbye world, we're done exploding
   }
 
   /**
-   * Explodes away all blocks for the current iteration
+   * Drops a single merged stack of the collected items. Goes into an inventory next to the center of the explosion
+   * if one survived, otherwise it is spawned somewhere in the explosion area.
    */
-  private boolean iteration() {
-    int count = 0;
-
-    while(count < blocksPerIteration && currentRadius < (int) r + 1) {
-      double d = curX * curX + curY * curY + curZ * curZ;
-      // inside the explosion?
-      if(d <= rr) {
-        BlockPos pos = new BlockPos(x + curX, y + curY, z + curZ);
-        IBlockState state = world.getBlockState(pos);
-
-        // no air blocks
-        if(!state.getBlock().isAir(state, world, pos)) {
-          // explosion "strength" at the current position
-          double f = explosionStrength * (1f - d / rr);
-
-          float f2 = exploder != null ? exploder.getExplosionResistance(explosion, world, pos, state) : state.getBlock().getExplosionResistance(world, pos, null, explosion);
-          f -= (f2 + 0.3F) * 0.3F;
-
-          if(f > 0.0F && (exploder == null || exploder.verifyExplosion(explosion, world, pos, state, (float) f))) {
-            // block should be exploded
-            count++;
-            explodeBlock(state, pos);
-          }
-        }
+  private boolean releaseDrop() {
+    if(!searchedInventory) {
+      searchedInventory = true;
+      dropInventory = findDropInventory();
+    }
+
+    ItemStack stack = droppedItems.poll();
+    if(stack == null) {
+      return false;
+    }
+
+    if(dropInventory != null) {
+      stack = ItemHandlerHelper.insertItemStacked(dropInventory, stack, false);
+      if(stack == null) {
+        // inserting doesn't spawn entities, no need to limit it as much
+        return true;
       }
-      // get next coordinate;
-      step();
     }
 
-    return count == blocksPerIteration; // can lead to 1 more call where nothing is done, but that's ok
+    int d = (int) r / 2;
+    int spread = Math.max(1, (int) r);
+    BlockPos spawnPos = new BlockPos(x - d + world.rand.nextInt(spread), y - d + world.rand.nextInt(spread), z - d + world.rand.nextInt(spread));
+    Block.spawnAsEntity(world, spawnPos, stack);
+
+    return ++droppedThisTick < DROPS_PER_TICK;
   }
 
-  // get the next coordinate
-  private void step() {
-    // we go X/Z plane wise from top to bottom
-    if(++curX > currentRadius) {
-      curX = -currentRadius;
-      if(++curZ > currentRadius) {
-        curZ = -currentRadius;
-        if(--curY < -currentRadius) {
-          currentRadius++;
-          curX = curZ = -currentRadius;
-          curY = currentRadius;
-        }
+  @Nullable
+  private IItemHandler findDropInventory() {
+    BlockPos center = new BlockPos(x, y, z);
+    IItemHandler handler = getItemHandler(center, null);
+    for(EnumFacing facing : EnumFacing.VALUES) {
+      if(handler != null) {
+        break;
       }
+      handler = getItemHandler(center.offset(facing), facing.getOpposite());
+    }
+    return handler;
+  }
+
+  @Nullable
+  private IItemHandler getItemHandler(BlockPos pos, @Nullable EnumFacing side) {
+    TileEntity te = world.getTileEntity(pos);
+    if(te != null && te.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side)) {
+      return te.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side);
+    }
+    return null;
+  }
+
+  @Override
+  public void onTickStart() {
+    count = 0;
+    droppedThisTick = 0;
+  }
+
+  /**
+   * Explodes away the block at the current coordinate if needed
+   */
+  @Override
+  public boolean step() {
+    if(currentIndex >= offsets.length) {
+      return releaseDrop();
     }
-    // we skip the internals
-    if(curY != -currentRadius && curY != currentRadius) {
-      // we're not in the top or bottom plane
-      if(curZ != -currentRadius && curZ != currentRadius) {
-        // we're not in the X/Y planes of the cube, we can therefore skip the x to the end if we're inside
-        if(curX > -currentRadius) {
-          curX = currentRadius;
-        }
+
+    int offset = offsets[currentIndex++];
+    double d = BlastPlanner.distanceSq(offset);
+    // the offsets only contain positions inside the explosion
+    mutablePos.setPos(x + BlastPlanner.x(offset), y + BlastPlanner.y(offset), z + BlastPlanner.z(offset));
+    IBlockState state = world.getBlockState(mutablePos);
+
+    // no air blocks
+    if(!state.getBlock().isAir(state, world, mutablePos)) {
+      // explosion "strength" at the current position
+      double f = explosionStrength * (1f - d / rr);
+
+      float f2 = exploder != null ? exploder.getExplosionResistance(explosion, world, mutablePos, state) : state.getBlock().getExplosionResistance(world, mutablePos, null, explosion);
+      f -= (f2 + 0.3F) * 0.3F;
+
+      if(f > 0.0F && (exploder == null || exploder.verifyExplosion(explosion, world, mutablePos, state, (float) f))) {
+        // block should be exploded
+        count++;
+        explodeBlock(state, mutablePos.toImmutable());
       }
     }
+
+    return count < blocksPerIteration;
   }
 
   private void explodeBlock(IBlockState state, BlockPos pos) {
@@ -222,9 +236,8 @@ public class Exploder {
       List<ItemStack> drops = block.getDrops(world, pos, state, 0);
       ForgeEventFactory.fireBlockHarvesting(drops, world, pos, state, 0, 1f, false, null);
       for(ItemStack stack : drops) {
-        Pair<Item, Integer> pair = Pair.of(stack.getItem(), stack.getMetadata());
         // add the items to the drops
-        droppedItems.put(pair, stack.stackSize + droppedItems.get(pair));
+        droppedItems.add(stack);
       }
       //block.dropBlockAsItemWithChance(world, pos, state, 1.0F, 0);
     }
@@ -10,6 +10,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.client.registry.RenderingRegistry;
 
 import java.util.Locale;
@@ -20,9 +21,11 @@ import slimeknights.tconstruct.common.ClientProxy;
 import slimeknights.tconstruct.gadgets.block.BlockSlimeChannel;
 import slimeknights.tconstruct.gadgets.client.RenderFancyItemFrame;
 import slimeknights.tconstruct.gadgets.client.RenderThrowball;
+import slimeknights.tconstruct.gadgets.client.SlimeChannelStreamRenderer;
 import slimeknights.tconstruct.gadgets.entity.EntityFancyItemFrame;
 import slimeknights.tconstruct.gadgets.entity.EntityThrowball;
 import slimeknights.tconstruct.gadgets.item.ItemThrowball;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannelStream;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.client.model.PropertyStateMapper;
 import slimeknights.tconstruct.shared.block.BlockSlime;
@@ -117,6 +120,9 @@ public class GadgetClientProxy extends ClientProxy {
       ModelLoader.setCustomModelResourceLocation(TinkerGadgets.fancyFrame, type.ordinal(), loc);
     }
     RenderingRegistry.registerEntityRenderingHandler(EntityThrowball.class, RenderThrowball.FACTORY);
+
+    // TEs
+    ClientRegistry.bindTileEntitySpecialRenderer(TileSlimeChannelStream.class, new SlimeChannelStreamRenderer());
   }
 
   @Override
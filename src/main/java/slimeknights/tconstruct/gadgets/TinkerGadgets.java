@@ -49,9 +49,10 @@ import slimeknights.tconstruct.gadgets.item.ItemSlimeSling;
 import slimeknights.tconstruct.gadgets.item.ItemThrowball;
 import slimeknights.tconstruct.gadgets.tileentity.TileDryingRack;
 import slimeknights.tconstruct.gadgets.tileentity.TileItemRack;
-import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannelStream;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.shared.block.BlockFirewood;
 import slimeknights.tconstruct.shared.block.BlockTable;
@@ -109,6 +110,7 @@ public class TinkerGadgets extends TinkerPulse {
   // PRE-INITIALIZATION
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     stoneTorch = registerBlock(new BlockStoneTorch(), "stone_torch");
     stoneLadder = registerBlock(new BlockStoneLadder(), "stone_ladder");
     punji = registerBlock(new BlockPunji(), "punji");
@@ -147,7 +149,7 @@ public class TinkerGadgets extends TinkerPulse {
 
     registerTE(TileItemRack.class, "item_rack");
     registerTE(TileDryingRack.class, "drying_rack");
-    registerTE(TileSlimeChannel.class, "slime_channel");
+    registerTE(TileSlimeChannelStream.class, "slime_channel");
 
     slimeSling = registerItem(new ItemSlimeSling(), "slimesling");
     slimeBoots = registerItem(new ItemSlimeBoots(), "slime_boots");
@@ -167,14 +169,17 @@ public class TinkerGadgets extends TinkerPulse {
     proxy.preInit();
 
     TinkerRegistry.tabGadgets.setDisplayIcon(new ItemStack(slimeSling));
+    StartupProfiler.end();
   }
 
   // INITIALIZATION
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerRecipes();
 
     proxy.init();
+    StartupProfiler.end();
   }
 
   private void registerRecipes() {
@@ -337,12 +342,14 @@ public class TinkerGadgets extends TinkerPulse {
   // POST-INITIALIZATION
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerDrying();
     
     // prevents items from despawning in slime channels
     MinecraftForge.EVENT_BUS.register(BlockSlimeChannel.EventHandler.instance);
 
     proxy.postInit();
+    StartupProfiler.end();
   }
 
   private void registerDrying() {
@@ -35,6 +35,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.List;
+import java.util.Random;
 
 import javax.annotation.Nonnull;
 
@@ -339,6 +340,15 @@ public class BlockRack extends BlockTable {
     return this.rayTrace(pos, start, end, blockState.getBoundingBox(worldIn, pos));
   }
 
+  // drying racks schedule an update for when the item is done
+  @Override
+  public void updateTick(World world, BlockPos pos, IBlockState state, Random rand) {
+    TileEntity te = world.getTileEntity(pos);
+    if(te instanceof TileDryingRack) {
+      ((TileDryingRack) te).checkDrying();
+    }
+  }
+
   @Override
   public boolean hasComparatorInputOverride(IBlockState state) {
     return state.getValue(DRYING) == Boolean.TRUE;
@@ -1,10 +1,12 @@
 package slimeknights.tconstruct.gadgets.block;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
@@ -33,7 +35,9 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import slimeknights.mantle.block.EnumBlock;
+import slimeknights.tconstruct.common.config.Config;
 import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannelStream;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.shared.block.BlockSlime;
 import slimeknights.tconstruct.shared.block.BlockSlime.SlimeType;
@@ -73,7 +77,8 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
   @Nonnull
   @Override
   public TileEntity createNewTileEntity(@Nonnull World worldIn, int meta) {
-    return new TileSlimeChannel();
+    // always able to carry items, whether items get absorbed is only decided by the server
+    return new TileSlimeChannelStream();
   }
 
   /**
@@ -274,6 +279,11 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
   @Override
   public void onEntityCollidedWithBlock(World world, BlockPos pos, IBlockState state, Entity entity) {
     if(!state.getValue(POWERED)) {
+      TileSlimeChannel channel = getFlowCache(world, pos, state);
+      if(channel == null) {
+        return;
+      }
+
       // bounding box to check
       AxisAlignedBB entityAABB = entity.getCollisionBoundingBox();
       if(entityAABB == null) {
@@ -289,13 +299,15 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
       }
 
       // data
-      Motion motion = new Motion();
+      double motionX = 0, motionY = 0, motionZ = 0;
       boolean inBounds = false;
-      state = state.getActualState(world, pos); // get the direction and connected values
-      EnumFacing side = state.getValue(SIDE);
       
       // only apply movement if the entity is within the liquid
-      if(entityAABB.intersectsWith(getBounds(state, world, pos).offset(pos))) {
+      if(entityAABB.intersectsWith(channel.getFlowBounds())) {
+        // let the channel carry the item instead
+        if(item && !world.isRemote && Config.slimeChannelItemStream && absorbItem(channel, (EntityItem) entity)) {
+          return;
+        }
         inBounds = true; // tell the other bounding box not to reduce gravity again
         // no drowining in slime channels
         if(entity.isEntityAlive()) {
@@ -305,31 +317,31 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
         entity.setFire(0);
         entity.fallDistance = 0;
         
-        ArrayList<EnumFacing> flow = state.getValue(DIRECTION).getFlowDiagonals(side);
         // its slimy, downward motion is reduced
-        if(!flow.contains(EnumFacing.DOWN) && entity.motionY < 0) {
+        if(!channel.flowsDown() && entity.motionY < 0) {
           entity.motionY /= 2;
         }
         
         // allow items to float upwards
-        if(flow.contains(EnumFacing.UP) && item) {
+        if(channel.flowsUp() && item) {
           entity.onGround = false;
         }
         
-        // apply motion boosts, may be twice
-        for(EnumFacing facing : flow) {
-          motion.boost(facing, speed);
-        }
+        // apply motion boosts, already combined for diagonals
+        motionX += channel.getFlowX() * speed;
+        motionY += channel.getFlowY() * speed;
+        motionZ += channel.getFlowZ() * speed;
       }
       
       // apply additional movement based on the "connected" bounding box
-      ChannelConnected connected = state.getValue(CONNECTED);
-      if(connected == ChannelConnected.OUTER && entityAABB.intersectsWith(getSecondaryBounds(state).offset(pos))) {
+      AxisAlignedBB secondaryBounds = channel.getSecondaryFlowBounds();
+      if(secondaryBounds != null && entityAABB.intersectsWith(secondaryBounds)) {
+        FlowVector sideFlow = getSideFlow(channel.getSide());
         // only run this if not already in bounds above
         // mainly to remove redundancy, but it does have an effect with the fall speed
         if(!inBounds) {
           // makes the block "slimey", as in you fall through it slowly
-          if(side != EnumFacing.DOWN && entity.motionY < 0) {
+          if(!sideFlow.down && entity.motionY < 0) {
             entity.motionY /= 2;
           }
           // stop drowning
@@ -342,17 +354,71 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
         }
 
         // allow items to float upwards
-        if(side == EnumFacing.UP && item) {
+        if(sideFlow.up && item) {
           entity.onGround = false;
         }
-        motion.boost(side, speed);
+        motionX += sideFlow.x * speed;
+        motionY += sideFlow.y * speed;
+        motionZ += sideFlow.z * speed;
       }
       
       // finally, apply the boost
-      entity.addVelocity(motion.x, motion.y, motion.z);
+      entity.addVelocity(motionX, motionY, motionZ);
     }
   }
   
+  private static boolean absorbItem(TileSlimeChannel channel, EntityItem entity) {
+    // freshly spawned items flow normally for a bit, so items leaving a channel don't get pulled right back in
+    if(entity.isDead || entity.ticksExisted < TileSlimeChannel.STREAM_DELAY) {
+      return false;
+    }
+    ItemStack stack = entity.getEntityItem();
+    if(stack == null || !channel.insertStream(stack)) {
+      return false;
+    }
+    entity.setDead();
+    return true;
+  }
+
+  @Override
+  public void breakBlock(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull IBlockState state) {
+    // release carried items
+    TileEntity te = world.getTileEntity(pos);
+    if(te instanceof TileSlimeChannel) {
+      ((TileSlimeChannel) te).dropStream();
+    }
+    super.breakBlock(world, pos, state);
+  }
+
+  /**
+   * Gets the channel tile entity with an up to date flow cache. Resolving the connections requires the tile data of
+   * the neighbours, so it is only done once instead of for every entity in the channel.
+   *
+   * @return the tile entity, or null if missing
+   */
+  @Nullable
+  public TileSlimeChannel getFlowCache(IBlockAccess world, BlockPos pos, IBlockState state) {
+    TileEntity te = world.getTileEntity(pos);
+    if(!(te instanceof TileSlimeChannel)) {
+      return null;
+    }
+
+    TileSlimeChannel channel = (TileSlimeChannel) te;
+    if(!channel.hasFlowCache()) {
+      state = state.getActualState(world, pos); // get the direction and connected values
+      EnumFacing side = state.getValue(SIDE);
+      AxisAlignedBB secondaryBounds = null;
+      if(state.getValue(CONNECTED) == ChannelConnected.OUTER) {
+        secondaryBounds = getSecondaryBounds(state).offset(pos);
+      }
+      channel.setFlowCache(getFlowVector(side, state.getValue(DIRECTION)),
+                           state.getValue(CONNECTED),
+                           getBounds(state, world, pos).offset(pos),
+                           secondaryBounds);
+    }
+    return channel;
+  }
+  
   // tells the game that the entity is in water
   @Override
   public Boolean isEntityInsideMaterial(IBlockAccess world, BlockPos pos, IBlockState state, Entity entity, double yToTest, Material material, boolean testingHead) {
@@ -366,14 +432,18 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
       entityAABB = entity.getEntityBoundingBox();
     }
 
+    TileSlimeChannel channel = getFlowCache(world, pos, state);
+    if(channel == null) {
+      return Boolean.FALSE;
+    }
+
     // main bounding box
-    state = state.getActualState(world, pos); // connected properties
-    if(entityAABB.intersectsWith(getBounds(state, world, pos).offset(pos))) {
+    if(entityAABB.intersectsWith(channel.getFlowBounds())) {
       return Boolean.TRUE;
     }
     // extra box used on sideways channels
-    else if(state.getValue(CONNECTED) == ChannelConnected.OUTER
-         && entityAABB.intersectsWith(getSecondaryBounds(state).offset(pos))) {
+    AxisAlignedBB secondaryBounds = channel.getSecondaryFlowBounds();
+    if(secondaryBounds != null && entityAABB.intersectsWith(secondaryBounds)) {
       return Boolean.TRUE;
     }
     
@@ -393,6 +463,11 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
    */
   @Override
   public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn) {
+      // connections might have changed
+      TileEntity te = worldIn.getTileEntity(pos);
+      if(te instanceof TileSlimeChannel) {
+        ((TileSlimeChannel) te).invalidateFlowCache();
+      }
       this.updateState(worldIn, pos, state);
   }
 
@@ -447,6 +522,32 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
     UPPER_BOUNDS = builder.build();
   }
 
+  /* Flow */
+  // motion per unit of speed for each side and direction, indexed by side * 8 + direction
+  private static final FlowVector[] FLOW_TABLE;
+  // motion for the additional bounding box of outer connections, indexed by side
+  private static final FlowVector[] SIDE_FLOW;
+
+  static {
+    ChannelDirection[] directions = ChannelDirection.values();
+    FLOW_TABLE = new FlowVector[EnumFacing.VALUES.length * directions.length];
+    SIDE_FLOW = new FlowVector[EnumFacing.VALUES.length];
+    for(EnumFacing side : EnumFacing.VALUES) {
+      for(ChannelDirection direction : directions) {
+        FLOW_TABLE[side.getIndex() * directions.length + direction.getIndex()] = new FlowVector(direction.getFlowDiagonals(side));
+      }
+      SIDE_FLOW[side.getIndex()] = new FlowVector(ImmutableList.of(side));
+    }
+  }
+
+  public static FlowVector getFlowVector(EnumFacing side, ChannelDirection direction) {
+    return FLOW_TABLE[side.getIndex() * ChannelDirection.values().length + direction.getIndex()];
+  }
+
+  public static FlowVector getSideFlow(EnumFacing side) {
+    return SIDE_FLOW[side.getIndex()];
+  }
+
   @Override
   public AxisAlignedBB getCollisionBoundingBox(IBlockState state, @Nonnull World worldIn, @Nonnull BlockPos pos) {
     return NULL_AABB;
@@ -975,38 +1076,42 @@ public class BlockSlimeChannel extends EnumBlock<SlimeType> implements ITileEnti
   }
   
   /**
-   * A convince class to both store and modify the motion for channels
+   * The combined motion of one or two flow directions, for a speed of 1
    */
-  private static class Motion {
-    public double x, y, z;
-    public Motion() {
-      x = 0;
-      y = 0;
-      z = 0;
-    }
-    
-    public Motion boost(EnumFacing facing, double speed) {
-      switch(facing) {
-        case UP:
-          this.y += speed * 3; // compensate for gravity
-          break;
-        case DOWN:
-          this.y -= speed;
-          break;
-        case NORTH:
-          this.z -= speed;
-          break;
-        case SOUTH:
-          this.z += speed;
-          break;
-        case WEST:
-          this.x -= speed;
-          break;
-        case EAST:
-          this.x += speed;
-          break;
+  public static class FlowVector {
+    public final double x, y, z;
+    /** if any of the directions goes up or down */
+    public final boolean up, down;
+
+    private FlowVector(List<EnumFacing> flow) {
+      double x = 0, y = 0, z = 0;
+      for(EnumFacing facing : flow) {
+        switch(facing) {
+          case UP:
+            y += 3; // compensate for gravity
+            break;
+          case DOWN:
+            y -= 1;
+            break;
+          case NORTH:
+            z -= 1;
+            break;
+          case SOUTH:
+            z += 1;
+            break;
+          case WEST:
+            x -= 1;
+            break;
+          case EAST:
+            x += 1;
+            break;
+        }
       }
-      return this;
+      this.x = x;
+      this.y = y;
+      this.z = z;
+      this.up = flow.contains(EnumFacing.UP);
+      this.down = flow.contains(EnumFacing.DOWN);
     }
   }
 
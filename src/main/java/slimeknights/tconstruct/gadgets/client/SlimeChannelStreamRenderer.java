@@ -0,0 +1,68 @@
+package slimeknights.tconstruct.gadgets.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.RenderItem;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.tileentity.TileEntitySpecialRenderer;
+import net.minecraft.util.EnumFacing;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannelStream;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel.StreamedItem;
+
+/**
+ * Renders the items carried by a slime channel. All items of a channel share the same GL state and lighting,
+ * so this is a lot cheaper than rendering the same amount of item entities.
+ */
+public class SlimeChannelStreamRenderer extends TileEntitySpecialRenderer<TileSlimeChannelStream> {
+
+  @Override
+  public void renderTileEntityAt(@Nonnull TileSlimeChannelStream channel, double x, double y, double z, float partialTicks, int destroyStage) {
+    List<StreamedItem> stream = channel.getStream();
+    if(stream.isEmpty()) {
+      return;
+    }
+    EnumFacing flow = channel.getDirection().getFlow(channel.getSide());
+    if(flow == null) {
+      return;
+    }
+
+    // items float in the middle of the slime, which is the half of the block towards the side
+    EnumFacing side = channel.getSide();
+    double cx = 0.5 + side.getFrontOffsetX() * 0.25;
+    double cy = 0.5 + side.getFrontOffsetY() * 0.25;
+    double cz = 0.5 + side.getFrontOffsetZ() * 0.25;
+
+    Minecraft mc = Minecraft.getMinecraft();
+    RenderItem renderItem = mc.getRenderItem();
+    mc.renderEngine.bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
+
+    GlStateManager.pushMatrix();
+    GlStateManager.translate(x + cx, y + cy, z + cz);
+    GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+    RenderHelper.enableStandardItemLighting();
+    int brightness = channel.getWorld().getCombinedLight(channel.getPos(), 0);
+    OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, (float) (brightness % 0x10000), (float) (brightness / 0x10000));
+
+    for(StreamedItem item : stream) {
+      float progress = Math.min(1f, item.progress + TileSlimeChannel.STREAM_SPEED * partialTicks) - 0.5f;
+
+      GlStateManager.pushMatrix();
+      GlStateManager.translate(flow.getFrontOffsetX() * progress, flow.getFrontOffsetY() * progress, flow.getFrontOffsetZ() * progress);
+      GlStateManager.scale(0.5f, 0.5f, 0.5f);
+      renderItem.renderItem(item.stack, ItemCameraTransforms.TransformType.GROUND);
+      GlStateManager.popMatrix();
+    }
+
+    RenderHelper.disableStandardItemLighting();
+    GlStateManager.popMatrix();
+  }
+}
@@ -17,6 +17,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.List;
 
+import slimeknights.tconstruct.gadgets.BlastPlanner;
+
 public class ExplosionEFLN extends Explosion {
 
   protected ImmutableSet<BlockPos> affectedBlockPositions;
@@ -39,35 +41,28 @@ public class ExplosionEFLN extends Explosion {
   public void doExplosionA() {
     ImmutableSet.Builder<BlockPos> builder = ImmutableSet.builder();
 
-    // we do a sphere of a certain radius, and check if the blockpos is inside the radius
+    // we do a sphere of a certain radius, the planner knows which positions are inside
     float r = explosionSize * explosionSize;
-    int i = (int) r + 1;
-
-    for(int j = -i; j < i; ++j) {
-      for(int k = -i; k < i; ++k) {
-        for(int l = -i; l < i; ++l) {
-          int d = j * j + k * k + l * l;
-          // inside the sphere?
-          if(d <= r) {
-            BlockPos blockpos = new BlockPos(j, k, l).add(explosionX, explosionY, explosionZ);
-            // no air blocks
-            if(worldObj.isAirBlock(blockpos)) {
-              continue;
-            }
-
-            // explosion "strength" at the current position
-            float f = this.explosionSize * (1f - d / (r));
-            IBlockState iblockstate = this.worldObj.getBlockState(blockpos);
-
-            float f2 = this.exploder != null ? this.exploder.getExplosionResistance(this, this.worldObj, blockpos, iblockstate) : iblockstate.getBlock().getExplosionResistance(worldObj, blockpos, (Entity) null, this);
-            f -= (f2 + 0.3F) * 0.3F;
-
-
-            if(f > 0.0F && (this.exploder == null || this.exploder.verifyExplosion(this, this.worldObj, blockpos, iblockstate, f))) {
-              builder.add(blockpos);
-            }
-          }
-        }
+    BlockPos center = new BlockPos(explosionX, explosionY, explosionZ);
+
+    for(int offset : BlastPlanner.getOffsets(explosionSize)) {
+      int d = BlastPlanner.distanceSq(offset);
+      BlockPos blockpos = center.add(BlastPlanner.x(offset), BlastPlanner.y(offset), BlastPlanner.z(offset));
+      IBlockState iblockstate = this.worldObj.getBlockState(blockpos);
+      // no air blocks
+      if(iblockstate.getBlock().isAir(iblockstate, worldObj, blockpos)) {
+        continue;
+      }
+
+      // explosion "strength" at the current position
+      float f = this.explosionSize * (1f - d / (r));
+
+      float f2 = this.exploder != null ? this.exploder.getExplosionResistance(this, this.worldObj, blockpos, iblockstate) : iblockstate.getBlock().getExplosionResistance(worldObj, blockpos, (Entity) null, this);
+      f -= (f2 + 0.3F) * 0.3F;
+
+
+      if(f > 0.0F && (this.exploder == null || this.exploder.verifyExplosion(this, this.worldObj, blockpos, iblockstate, f))) {
+        builder.add(blockpos);
       }
     }
 
@@ -0,0 +1,76 @@
+package slimeknights.tconstruct.gadgets.network;
+
+import com.google.common.collect.Lists;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import slimeknights.mantle.network.AbstractPacketThreadsafe;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel;
+import slimeknights.tconstruct.gadgets.tileentity.TileSlimeChannel.StreamedItem;
+
+/** Syncs the items carried by a slime channel. Only used for rendering, the client doesn't need a block update. */
+public class SlimeChannelStreamPacket extends AbstractPacketThreadsafe {
+
+  public BlockPos pos;
+  public List<StreamedItem> items;
+
+  public SlimeChannelStreamPacket() {
+  }
+
+  public SlimeChannelStreamPacket(BlockPos pos, List<StreamedItem> items) {
+    this.pos = pos;
+    // copy, the channel keeps changing its items
+    this.items = Lists.newArrayListWithCapacity(items.size());
+    for(StreamedItem item : items) {
+      this.items.add(new StreamedItem(item.stack, item.progress));
+    }
+  }
+
+  @Override
+  public void handleClientSafe(NetHandlerPlayClient netHandler) {
+    // only ever sent to players in the same dimension as the position
+    TileEntity te = Minecraft.getMinecraft().theWorld.getTileEntity(pos);
+    if(te instanceof TileSlimeChannel) {
+      ((TileSlimeChannel) te).setClientStream(items);
+    }
+  }
+
+  @Override
+  public void handleServerSafe(NetHandlerPlayServer netHandler) {
+    // only send to clients
+    throw new UnsupportedOperationException("Clientside only");
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    pos = readPos(buf);
+    int size = buf.readUnsignedByte();
+    items = Lists.newArrayListWithCapacity(size);
+    for(int i = 0; i < size; i++) {
+      ItemStack stack = ByteBufUtils.readItemStack(buf);
+      float progress = buf.readFloat();
+      if(stack != null) {
+        items.add(new StreamedItem(stack, progress));
+      }
+    }
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    writePos(pos, buf);
+    buf.writeByte(items.size());
+    for(StreamedItem item : items) {
+      ByteBufUtils.writeItemStack(buf, item.stack);
+      buf.writeFloat(item.progress);
+    }
+  }
+}
@@ -4,7 +4,6 @@ import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -12,13 +11,27 @@ import net.minecraftforge.items.wrapper.SidedInvWrapper;
 
 import javax.annotation.Nonnull;
 
+import slimeknights.tconstruct.library.DryingRecipe;
 import slimeknights.tconstruct.library.TinkerRegistry;
+import slimeknights.tconstruct.library.tasks.IWorldTask;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
 import slimeknights.tconstruct.library.tileentity.IProgress;
+import slimeknights.tconstruct.library.utils.TickProfiler;
 
-public class TileDryingRack extends TileItemRack implements ITickable, ISidedInventory, IProgress {
+/**
+ * Drying does not tick. The rack remembers when the item is done and schedules a block update for that time,
+ * so racks do no work while drying. If an item gets replaced by one that is done before the pending update,
+ * a task finishes it in time instead, since the world only keeps one pending update per block.
+ */
+public class TileDryingRack extends TileItemRack implements ISidedInventory, IProgress {
 
+  // elapsed time as saved, turned into finishTime once the world is known
   int currentTime;
   int maxTime;
+  // world time at which the current item finishes drying, -1 if not known yet
+  long finishTime = -1;
+  // world time of the pending block update, -1 if there is none
+  private long scheduledTime = -1;
 
   public TileDryingRack() {
     super("gui.dryingrack.name", 2); // two slots, an input and an output. Should never both have something, output is just to stop item tranfer
@@ -29,39 +42,100 @@ public class TileDryingRack extends TileItemRack implements ITickable, ISidedInv
 
   @Override
   public float getProgress() {
-    if(getStackInSlot(0) != null && currentTime < maxTime) {
-      return (float) currentTime / (float) maxTime;
+    if(getStackInSlot(0) != null && maxTime > 0) {
+      int time = getElapsedTime();
+      if(time < maxTime) {
+        return (float) time / (float) maxTime;
+      }
     }
     return 0;
   }
 
+  private long getFinishTime() {
+    if(finishTime < 0 && worldObj != null) {
+      finishTime = worldObj.getTotalWorldTime() + Math.max(0, maxTime - currentTime);
+    }
+    return finishTime;
+  }
+
+  /** How long the current item has been drying */
+  public int getElapsedTime() {
+    long finish = getFinishTime();
+    if(finish < 0) {
+      return currentTime;
+    }
+    long left = finish - worldObj.getTotalWorldTime();
+    return (int) Math.max(0, Math.min(maxTime, maxTime - left));
+  }
+
   @Override
-  public void update() {
-    //only run on the server side and if a recipe is available
-    if(maxTime > 0 && currentTime < maxTime) {
-      currentTime++;
-      if(currentTime >= maxTime && !worldObj.isRemote) {
-        // add the result to slot 1 and remove the original from slot 0
-        setInventorySlotContents(1, TinkerRegistry.getDryingResult(getStackInSlot(0)));
-        setInventorySlotContents(0, null);
-        //drying time updated in setInventorySlotContents
-
-        // comparator update
-        this.worldObj.notifyNeighborsOfStateChange(this.pos, this.getBlockType());
+  public void onLoad() {
+    // racks from before scheduled drying or with lost block updates
+    scheduleDrying();
+  }
+
+  private void scheduleDrying() {
+    if(worldObj == null || worldObj.isRemote || maxTime <= 0 || !isStackInSlot(0)) {
+      return;
+    }
+
+    long now = worldObj.getTotalWorldTime();
+    long finish = Math.max(now + 1, getFinishTime());
+    if(scheduledTime > now) {
+      // the pending update comes first and schedules again if the item isn't done yet
+      if(scheduledTime <= finish) {
+        return;
       }
+      // the world ignores a new update for the block while the later one of a replaced item is pending
+      TaskScheduler.schedule(worldObj, new DryingWakeup(this, finish));
+      return;
     }
+
+    worldObj.scheduleUpdate(pos, worldObj.getBlockState(pos).getBlock(), (int) (finish - now));
+    scheduledTime = finish;
+  }
+
+  /** Called by the scheduled block update once the drying time is over */
+  public void checkDrying() {
+    long start = TickProfiler.start();
+    scheduledTime = -1;
+    finishDrying();
+    TickProfiler.endTile(this, start);
+  }
+
+  private void finishDrying() {
+    if(worldObj.isRemote || maxTime <= 0 || !isStackInSlot(0)) {
+      return;
+    }
+    // the item was replaced in the meantime
+    if(getElapsedTime() < maxTime) {
+      scheduleDrying();
+      return;
+    }
+
+    // add the result to slot 1 and remove the original from slot 0
+    setInventorySlotContents(1, TinkerRegistry.getDryingResult(getStackInSlot(0)));
+    setInventorySlotContents(0, null);
+    //drying time updated in setInventorySlotContents
+
+    // comparator update
+    this.worldObj.notifyNeighborsOfStateChange(this.pos, this.getBlockType());
   }
 
   @Override
   public void setInventorySlotContents(int slot, ItemStack stack) {
     // if there is no drying recipe, just place the item directly into the output slot for item output and tick efficiency
-    if(slot == 0 && !isStackInSlot(1) && stack != null && TinkerRegistry.getDryingResult(stack) == null) {
-      slot = 1;
+    DryingRecipe recipe = null;
+    if(slot == 0 && stack != null) {
+      recipe = TinkerRegistry.getDryingRecipe(stack);
+      if(recipe == null && !isStackInSlot(1)) {
+        slot = 1;
+      }
     }
 
     super.setInventorySlotContents(slot, stack);
     if(slot == 0) {
-      updateDryingTime();
+      updateDryingTime(recipe);
     }
     else if(this.worldObj != null){
       // comparator update
@@ -74,20 +148,65 @@ public class TileDryingRack extends TileItemRack implements ITickable, ISidedInv
     ItemStack stack = super.decrStackSize(slot, quantity);
     maxTime = 0;
     currentTime = 0;
+    finishTime = -1;
     return stack;
   }
 
   public void updateDryingTime() {
+    updateDryingTime(TinkerRegistry.getDryingRecipe(getStackInSlot(0)));
+  }
+
+  private void updateDryingTime(DryingRecipe recipe) {
     currentTime = 0;
-    ItemStack stack = getStackInSlot(0);
+    finishTime = -1;
 
-    if(stack != null) {
-      maxTime = TinkerRegistry.getDryingTime(stack);
+    if(getStackInSlot(0) != null && recipe != null) {
+      maxTime = recipe.getTime();
     }
     else {
       maxTime = -1;
     }
-    //worldObj.scheduleUpdate(pos, blockType, 0);
+    scheduleDrying();
+  }
+
+  /** Finishes the drying of an item that is done before the pending block update of the rack */
+  private static class DryingWakeup implements IWorldTask {
+
+    private final TileDryingRack rack;
+    private final long time;
+    private boolean finished;
+
+    DryingWakeup(TileDryingRack rack, long time) {
+      this.rack = rack;
+      this.time = time;
+    }
+
+    @Override
+    public void onTickStart() {
+    }
+
+    @Override
+    public boolean step() {
+      if(rack.isInvalid()) {
+        finished = true;
+      }
+      else if(rack.getWorld().getTotalWorldTime() >= time) {
+        long start = TickProfiler.start();
+        rack.finishDrying();
+        TickProfiler.endTile(rack, start);
+        finished = true;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return finished;
+    }
+
+    @Override
+    public void onFinish() {
+    }
   }
 
   @Nonnull
@@ -127,13 +246,14 @@ public class TileDryingRack extends TileItemRack implements ITickable, ISidedInv
   public void readFromNBT(NBTTagCompound tags) {
     currentTime = tags.getInteger("Time");
     maxTime = tags.getInteger("MaxTime");
+    finishTime = -1;
     super.readFromNBT(tags);
   }
 
   @Nonnull
   @Override
   public NBTTagCompound writeToNBT(NBTTagCompound tags) {
-    tags.setInteger("Time", currentTime);
+    tags.setInteger("Time", getElapsedTime());
     tags.setInteger("MaxTime", maxTime);
     return super.writeToNBT(tags);
   }
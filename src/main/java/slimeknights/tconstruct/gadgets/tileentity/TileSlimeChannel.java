@@ -1,25 +1,71 @@
 package slimeknights.tconstruct.gadgets.tileentity;
 
+import java.util.Iterator;
+import java.util.List;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Lists;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import slimeknights.tconstruct.common.TinkerNetwork;
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.gadgets.block.BlockSlimeChannel;
+import slimeknights.tconstruct.gadgets.block.BlockSlimeChannel.ChannelConnected;
 import slimeknights.tconstruct.gadgets.block.BlockSlimeChannel.ChannelDirection;
+import slimeknights.tconstruct.gadgets.block.BlockSlimeChannel.FlowVector;
+import slimeknights.tconstruct.gadgets.network.SlimeChannelStreamPacket;
 
 /**
  * This tile entity is simply an extra data 
+ * <br>
+ * The channels in the world are {@link TileSlimeChannelStream}s, which tick to carry items through the channel
+ * if the server has the item stream enabled, see {@link Config#slimeChannelItemStream}.
  */
 public class TileSlimeChannel extends TileEntity {
   
   public static final String SIDE_TAG = "side";
   public static final String FACING_TAG = "facing";
   public static final String DIRECTION_TAG = "direction";
+  public static final String STREAM_TAG = "stream";
+  public static final String PROGRESS_TAG = "progress";
+
+  /** Maximum amount of stacks a single channel carries */
+  public static final int STREAM_CAPACITY = 16;
+  /** Distance in blocks carried items move per tick */
+  public static final float STREAM_SPEED = 0.2f;
+  /** Minimum age of item entities before a channel picks them up */
+  public static final int STREAM_DELAY = 10;
+
+  // reading the tile data every time is too slow for entity collisions, so side and direction are kept in fields too
+  private EnumFacing side = EnumFacing.DOWN;
+  private ChannelDirection direction = ChannelDirection.SOUTH;
+
+  // flow cache, valid until a neighbour changes
+  private boolean flowValid;
+  private long flowTime;
+  private double flowX, flowY, flowZ;
+  private boolean flowsUp, flowsDown;
+  private AxisAlignedBB flowBounds;
+  private AxisAlignedBB secondaryFlowBounds;
+  private ChannelConnected connected = ChannelConnected.NONE;
+
+  // items carried by this channel
+  private final List<StreamedItem> stream = Lists.newArrayList();
+  private boolean streamChanged;
   
   // don't delete the TE if the state changes
   // we want to keep our side and facing data if it becomes powered
@@ -30,26 +76,285 @@ public class TileSlimeChannel extends TileEntity {
   
   public void setSide(EnumFacing side) {
     getTileData().setInteger(SIDE_TAG, side.getIndex());
+    this.side = side;
+    invalidateFlowCache();
   }
 
   @Nonnull
   public EnumFacing getSide() {
+    return side;
+  }
+  
+  public void setDirection(ChannelDirection direction) {
+    getTileData().setInteger(DIRECTION_TAG, direction.getIndex());
+    this.direction = direction;
+    invalidateFlowCache();
+  }
+
+  @Nonnull
+  public ChannelDirection getDirection() {
+    return direction;
+  }
+
+  private void updateFromTileData() {
     int side = getTileData().getInteger(SIDE_TAG);
     // no indexOutOfBounds please
     if(side > 5 || side < 0) {
       side = 0;
     }
-    return EnumFacing.VALUES[side];
+    this.side = EnumFacing.VALUES[side];
+    this.direction = ChannelDirection.fromIndex(getTileData().getInteger(DIRECTION_TAG));
+    invalidateFlowCache();
   }
-  
-  public void setDirection(ChannelDirection direction) {
-    getTileData().setInteger(DIRECTION_TAG, direction.getIndex());
+
+  /* Flow cache */
+
+  /**
+   * @return true if the cached flow can be used
+   */
+  public boolean hasFlowCache() {
+    // the client gets no neighbour updates, so there the cache only lasts for the current tick
+    return flowValid && (worldObj == null || !worldObj.isRemote || flowTime == worldObj.getTotalWorldTime());
+  }
+
+  public void invalidateFlowCache() {
+    flowValid = false;
+  }
+
+  /**
+   * Stores the resolved flow of this channel
+   *
+   * @param flow                Flow for the side and direction of this channel
+   * @param connected           How the channel connects to its neighbours
+   * @param flowBounds          Main bounding box, already offset to the channels position
+   * @param secondaryFlowBounds Additional bounding box of outer connections, or null if not connected that way
+   */
+  public void setFlowCache(FlowVector flow, ChannelConnected connected, AxisAlignedBB flowBounds, @Nullable AxisAlignedBB secondaryFlowBounds) {
+    this.flowX = flow.x;
+    this.flowY = flow.y;
+    this.flowZ = flow.z;
+    this.flowsUp = flow.up;
+    this.flowsDown = flow.down;
+    this.connected = connected;
+    this.flowBounds = flowBounds;
+    this.secondaryFlowBounds = secondaryFlowBounds;
+    this.flowTime = worldObj != null ? worldObj.getTotalWorldTime() : 0;
+    this.flowValid = true;
+  }
+
+  public double getFlowX() {
+    return flowX;
+  }
+
+  public double getFlowY() {
+    return flowY;
+  }
+
+  public double getFlowZ() {
+    return flowZ;
+  }
+
+  public boolean flowsUp() {
+    return flowsUp;
+  }
+
+  public boolean flowsDown() {
+    return flowsDown;
+  }
+
+  public AxisAlignedBB getFlowBounds() {
+    return flowBounds;
+  }
+
+  @Nullable
+  public AxisAlignedBB getSecondaryFlowBounds() {
+    return secondaryFlowBounds;
+  }
+
+  /* Item stream */
+
+  /** Diagonal channels have no single direction, items in them keep being entities */
+  public boolean canStream() {
+    return direction.getFlow(side) != null;
+  }
+
+  /**
+   * Adds an item to the items carried by this channel
+   *
+   * @return true if the channel took the item
+   */
+  public boolean insertStream(ItemStack stack) {
+    if(!canStream() || stream.size() >= STREAM_CAPACITY) {
+      return false;
+    }
+    StreamedItem item = new StreamedItem(stack.copy(), 0f);
+    // don't move it again if a channel earlier in this tick passed it on
+    item.lastMoved = worldObj.getTotalWorldTime();
+    stream.add(item);
+    streamChanged = true;
+    markDirty();
+    return true;
+  }
+
+  public List<StreamedItem> getStream() {
+    return stream;
+  }
+
+  protected void updateStream() {
+    if(stream.isEmpty()) {
+      return;
+    }
+
+    IBlockState state = worldObj.getBlockState(pos);
+    // powered channels don't flow
+    if(!(state.getBlock() instanceof BlockSlimeChannel) || state.getValue(BlockSlimeChannel.POWERED)) {
+      return;
+    }
+
+    // the client only moves the items for rendering, the server decides where they go
+    if(worldObj.isRemote) {
+      for(StreamedItem item : stream) {
+        item.progress = Math.min(1f, item.progress + STREAM_SPEED);
+      }
+      return;
+    }
+
+    long time = worldObj.getTotalWorldTime();
+    Iterator<StreamedItem> iter = stream.iterator();
+    while(iter.hasNext()) {
+      StreamedItem item = iter.next();
+      if(item.lastMoved == time) {
+        continue;
+      }
+      item.lastMoved = time;
+      item.progress = Math.min(1f, item.progress + STREAM_SPEED);
+      // reached the end of this channel, items that can't be passed on wait
+      if(item.progress >= 1f && passOn(state, item.stack)) {
+        iter.remove();
+        streamChanged = true;
+      }
+    }
+
+    if(streamChanged) {
+      syncStream();
+    }
+  }
+
+  private boolean passOn(IBlockState state, ItemStack stack) {
+    // make sure we know how we're connected
+    ((BlockSlimeChannel) state.getBlock()).getFlowCache(worldObj, pos, state);
+    EnumFacing flow = direction.getFlow(side);
+    if(flow == null) {
+      eject(stack, null);
+      return true;
+    }
+
+    // inner connections flow into the channel behind
+    BlockPos next = pos.offset(connected == ChannelConnected.INNER ? side : flow);
+    TileEntity te = worldObj.getTileEntity(next);
+    if(te instanceof TileSlimeChannel) {
+      TileSlimeChannel channel = (TileSlimeChannel) te;
+      if(channel.canStream()) {
+        return channel.insertStream(stack);
+      }
+      // diagonal channels get the entity
+    }
+
+    eject(stack, flow);
+    return true;
+  }
+
+  /** Turns the item back into an entity at the end of the channel */
+  private void eject(ItemStack stack, @Nullable EnumFacing flow) {
+    double x = pos.getX() + 0.5, y = pos.getY() + 0.5, z = pos.getZ() + 0.5;
+    if(flowBounds != null) {
+      x = (flowBounds.minX + flowBounds.maxX) / 2;
+      y = (flowBounds.minY + flowBounds.maxY) / 2;
+      z = (flowBounds.minZ + flowBounds.maxZ) / 2;
+    }
+
+    EntityItem entity;
+    if(flow != null) {
+      // place it just past the end of the channel, moving along
+      FlowVector motion = BlockSlimeChannel.getSideFlow(flow);
+      entity = new EntityItem(worldObj, x + motion.x * 0.7, y + Math.signum(motion.y) * 0.7, z + motion.z * 0.7, stack);
+      entity.motionX = motion.x * 0.1;
+      entity.motionY = motion.y * 0.1;
+      entity.motionZ = motion.z * 0.1;
+    }
+    else {
+      entity = new EntityItem(worldObj, x, y, z, stack);
+      entity.motionX = entity.motionY = entity.motionZ = 0;
+    }
+    worldObj.spawnEntityInWorld(entity);
+  }
+
+  /** Drops all carried items, used when the channel gets broken */
+  public void dropStream() {
+    if(worldObj.isRemote) {
+      return;
+    }
+    for(StreamedItem item : stream) {
+      eject(item.stack, null);
+    }
+    stream.clear();
+  }
+
+  private void syncStream() {
+    streamChanged = false;
+    markDirty();
+    if(worldObj instanceof WorldServer) {
+      TinkerNetwork.sendToClients((WorldServer) worldObj, pos, new SlimeChannelStreamPacket(pos, stream));
+    }
+  }
+
+  /** Replaces the carried items with the ones sent by the server */
+  public void setClientStream(List<StreamedItem> items) {
+    stream.clear();
+    stream.addAll(items);
+  }
+
+  private void readStream(NBTTagCompound tags) {
+    stream.clear();
+    NBTTagList list = tags.getTagList(STREAM_TAG, 10);
+    for(int i = 0; i < list.tagCount(); i++) {
+      NBTTagCompound tag = list.getCompoundTagAt(i);
+      ItemStack stack = ItemStack.loadItemStackFromNBT(tag);
+      if(stack != null) {
+        stream.add(new StreamedItem(stack, tag.getFloat(PROGRESS_TAG)));
+      }
+    }
   }
 
   @Nonnull
-  public ChannelDirection getDirection() {
-    int direction = getTileData().getInteger(DIRECTION_TAG);
-    return ChannelDirection.fromIndex(direction);
+  @Override
+  public NBTTagCompound writeToNBT(NBTTagCompound tags) {
+    tags = super.writeToNBT(tags);
+    if(!stream.isEmpty()) {
+      NBTTagList list = new NBTTagList();
+      for(StreamedItem item : stream) {
+        NBTTagCompound tag = new NBTTagCompound();
+        item.stack.writeToNBT(tag);
+        tag.setFloat(PROGRESS_TAG, item.progress);
+        list.appendTag(tag);
+      }
+      tags.setTag(STREAM_TAG, list);
+    }
+    return tags;
+  }
+
+  /** An item carried by the channel */
+  public static class StreamedItem {
+
+    public final ItemStack stack;
+    /** How far the item moved through the channel, from 0 to 1 */
+    public float progress;
+    private long lastMoved;
+
+    public StreamedItem(ItemStack stack, float progress) {
+      this.stack = stack;
+      this.progress = progress;
+    }
   }
   
   /* Client sync stuff */
@@ -91,5 +396,7 @@ public class TileSlimeChannel extends TileEntity {
       getTileData().setInteger(DIRECTION_TAG, direction);
       getTileData().removeTag(FACING_TAG);
     }
+    updateFromTileData();
+    readStream(tags);
   }
 }
@@ -0,0 +1,24 @@
+package slimeknights.tconstruct.gadgets.tileentity;
+
+import net.minecraft.util.ITickable;
+
+import slimeknights.tconstruct.library.utils.TickProfiler;
+
+/**
+ * Slime channel that carries items. All channels are of this kind, so clients can show the items of a server that
+ * has the item stream enabled no matter what their own config says. Only the server decides if items get absorbed,
+ * with the item stream disabled the stream just stays empty.
+ */
+public class TileSlimeChannelStream extends TileSlimeChannel implements ITickable {
+
+  @Override
+  public void update() {
+    // empty channels are the common case, don't even measure them
+    if(getStream().isEmpty()) {
+      return;
+    }
+    long start = TickProfiler.start();
+    updateStream();
+    TickProfiler.endTile(this, start);
+  }
+}
@@ -3,7 +3,6 @@ package slimeknights.tconstruct.library;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -42,7 +41,6 @@ public class SlimeBounceHandler {
     //entityLiving.addChatMessage(new ChatComponentText("added " + entityLiving.worldObj.isRemote));
   }
 
-  @SubscribeEvent
   public void playerTickPost(TickEvent.PlayerTickEvent event) {
     // this is only relevant for the local player
     if(event.phase == TickEvent.Phase.END && event.player == entityLiving && !event.player.isElytraFlying()) {
@@ -71,7 +69,6 @@ public class SlimeBounceHandler {
           timer = entityLiving.ticksExisted;
         }
         else if(entityLiving.ticksExisted - timer > 5) {
-          MinecraftForge.EVENT_BUS.unregister(this);
           bouncingEntities.remove(entityLiving);
           //entityLiving.addChatMessage(new ChatComponentText("removed " + entityLiving.worldObj.isRemote));
         }
@@ -95,7 +92,7 @@ public class SlimeBounceHandler {
     SlimeBounceHandler handler = bouncingEntities.get(entity);
     if(handler == null) {
       // wasn't bouncing yet, register it
-      MinecraftForge.EVENT_BUS.register(new SlimeBounceHandler(entity, bounce));
+      new SlimeBounceHandler(entity, bounce);
     }
     else if(bounce != 0) {
       // updated bounce if needed
@@ -103,4 +100,21 @@ public class SlimeBounceHandler {
       handler.bounceTick = entity.ticksExisted;
     }
   }
+
+  /** A single listener for all bouncing players instead of one per player */
+  public static class TickHandler {
+
+    public static final TickHandler INSTANCE = new TickHandler();
+
+    private TickHandler() {
+    }
+
+    @SubscribeEvent
+    public void playerTickPost(TickEvent.PlayerTickEvent event) {
+      SlimeBounceHandler handler = bouncingEntities.get(event.player);
+      if(handler != null) {
+        handler.playerTickPost(event);
+      }
+    }
+  }
 }
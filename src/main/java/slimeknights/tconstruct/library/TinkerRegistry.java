@@ -28,6 +28,7 @@ import net.minecraftforge.oredict.OreDictionary;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,7 @@ import slimeknights.tconstruct.library.tools.IToolPart;
 import slimeknights.tconstruct.library.tools.Shard;
 import slimeknights.tconstruct.library.tools.ToolCore;
 import slimeknights.tconstruct.library.traits.ITrait;
+import slimeknights.tconstruct.library.utils.IdentifierPalette;
 
 @SuppressWarnings("unused")
 public final class TinkerRegistry {
@@ -78,6 +80,8 @@ public final class TinkerRegistry {
   // Identifier to Material mapping. Hashmap so we can look it up directly without iterating
   private static final Map<String, Material> materials = Maps.newLinkedHashMap();
   private static final Map<String, ITrait> traits = new THashMap<String, ITrait>();
+  private static final IdentifierPalette<Material> materialPalette = new IdentifierPalette<Material>("materials");
+  private static final IdentifierPalette<ITrait> traitPalette = new IdentifierPalette<ITrait>("traits");
   // traceability information who registered what. Used to find errors.
   private static final Map<String, String> materialRegisteredByMod = new THashMap<String, String>();
   private static final Map<String, Map<String, String>> statRegisteredByMod = new THashMap<String, Map<String, String>>();
@@ -138,6 +142,7 @@ public final class TinkerRegistry {
 
     // register material
     materials.put(material.identifier, material);
+    materialPalette.register(material.identifier, material);
     putMaterialTrace(material.identifier);
   }
 
@@ -145,6 +150,16 @@ public final class TinkerRegistry {
     return materials.containsKey(identifier) ? materials.get(identifier) : Material.UNKNOWN;
   }
 
+  /** @return The material with the given palette id, Material.UNKNOWN if there is none */
+  public static Material getMaterial(int id) {
+    Material material = materialPalette.get(id);
+    return material != null ? material : Material.UNKNOWN;
+  }
+
+  public static IdentifierPalette<Material> getMaterialPalette() {
+    return materialPalette;
+  }
+
   public static Collection<Material> getAllMaterials() {
     return ImmutableList.copyOf(materials.values());
   }
@@ -171,6 +186,7 @@ public final class TinkerRegistry {
     }
 
     traits.put(trait.getIdentifier(), trait);
+    traitPalette.register(trait.getIdentifier(), trait);
 
     String activeMod = Loader.instance().activeModContainer().getModId();
     putTraitTrace(trait.getIdentifier(), trait, activeMod);
@@ -307,6 +323,15 @@ public final class TinkerRegistry {
     return traits.get(identifier);
   }
 
+  /** @return The trait with the given palette id, null if there is none */
+  public static ITrait getTrait(int id) {
+    return traitPalette.get(id);
+  }
+
+  public static IdentifierPalette<ITrait> getTraitPalette() {
+    return traitPalette;
+  }
+
   /*---------------------------------------------------------------------------
   | TOOLS & WEAPONS & Crafting                                                |
   ---------------------------------------------------------------------------*/
@@ -435,19 +460,31 @@ public final class TinkerRegistry {
   | Modifiers                                                                 |
   ---------------------------------------------------------------------------*/
   private static final Map<String, IModifier> modifiers = new THashMap<String, IModifier>();
+  private static final IdentifierPalette<IModifier> modifierPalette = new IdentifierPalette<IModifier>("modifiers");
 
   public static void registerModifier(IModifier modifier) {
     modifiers.put(modifier.getIdentifier(), modifier);
+    modifierPalette.register(modifier.getIdentifier(), modifier);
   }
 
   public static void registerModifierAlias(IModifier modifier, String alias) {
     modifiers.put(alias, modifier);
+    modifierPalette.register(alias, modifier);
   }
 
   public static IModifier getModifier(String identifier) {
     return modifiers.get(identifier);
   }
 
+  /** @return The modifier with the given palette id, null if there is none */
+  public static IModifier getModifier(int id) {
+    return modifierPalette.get(id);
+  }
+
+  public static IdentifierPalette<IModifier> getModifierPalette() {
+    return modifierPalette;
+  }
+
   public static Collection<IModifier> getAllModifiers() {
     return ImmutableList.copyOf(modifiers.values());
   }
@@ -455,9 +492,13 @@ public final class TinkerRegistry {
   /*---------------------------------------------------------------------------
   | Smeltery                                                                  |
   ---------------------------------------------------------------------------*/
-  private static List<MeltingRecipe> meltingRegistry = Lists.newLinkedList();
-  private static List<ICastingRecipe> tableCastRegistry = Lists.newLinkedList();
-  private static List<ICastingRecipe> basinCastRegistry = Lists.newLinkedList();
+  private static List<MeltingRecipe> meltingRegistry = Lists.newArrayList();
+  private static List<ICastingRecipe> tableCastRegistry = Lists.newArrayList();
+  private static List<ICastingRecipe> basinCastRegistry = Lists.newArrayList();
+  // item -> melting recipes that could match it, fluid -> casting recipes that could use it. Built on demand.
+  private static Map<Item, List<MeltingRecipe>> meltingIndex = Maps.newConcurrentMap();
+  private static Map<Fluid, List<ICastingRecipe>> tableCastIndex = Maps.newConcurrentMap();
+  private static Map<Fluid, List<ICastingRecipe>> basinCastIndex = Maps.newConcurrentMap();
   private static List<AlloyRecipe> alloyRegistry = Lists.newLinkedList();
   private static Map<FluidStack, Integer> smelteryFuels = Maps.newHashMap();
   private static Map<String, FluidStack> entityMeltingRegistry = Maps.newHashMap();
@@ -465,30 +506,40 @@ public final class TinkerRegistry {
   /** Registers this item with all its metadatas to melt into amount of the given fluid. */
   public static void registerMelting(Item item, Fluid fluid, int amount) {
     ItemStack stack = new ItemStack(item, 1, OreDictionary.WILDCARD_VALUE);
-    meltingRegistry.add(new MeltingRecipe(new RecipeMatch.Item(stack, 1, amount), fluid));
+    addMelting(new MeltingRecipe(new RecipeMatch.Item(stack, 1, amount), fluid));
   }
 
   /** Registers this block with all its metadatas to melt into amount of the given fluid. */
   public static void registerMelting(Block block, Fluid fluid, int amount) {
     ItemStack stack = new ItemStack(block, 1, OreDictionary.WILDCARD_VALUE);
-    meltingRegistry.add(new MeltingRecipe(new RecipeMatch.Item(stack, 1, amount), fluid));
+    addMelting(new MeltingRecipe(new RecipeMatch.Item(stack, 1, amount), fluid));
   }
 
   /** Registers this itemstack NBT-SENSITIVE to melt into amount of the given fluid. */
   public static void registerMelting(ItemStack stack, Fluid fluid, int amount) {
-    meltingRegistry.add(new MeltingRecipe(new RecipeMatch.ItemCombination(amount, stack), fluid));
+    addMelting(new MeltingRecipe(new RecipeMatch.ItemCombination(amount, stack), fluid));
   }
 
   public static void registerMelting(String oredict, Fluid fluid, int amount) {
-    meltingRegistry.add(new MeltingRecipe(new RecipeMatch.Oredict(oredict, 1, amount), fluid));
+    addMelting(new MeltingRecipe(new RecipeMatch.Oredict(oredict, 1, amount), fluid));
   }
 
   public static void registerMelting(MeltingRecipe recipe) {
-    meltingRegistry.add(recipe);
+    addMelting(recipe);
+  }
+
+  /** Registers all the recipes at once, for registering lots of recipes like the ones of all toolparts */
+  public static void registerMeltings(Collection<MeltingRecipe> recipes) {
+    meltingRegistry.addAll(recipes);
+    meltingIndex.clear();
   }
 
   public static MeltingRecipe getMelting(ItemStack stack) {
-    for(MeltingRecipe recipe : meltingRegistry) {
+    List<MeltingRecipe> candidates = meltingRegistry;
+    if(stack != null && stack.getItem() != null) {
+      candidates = getMeltingCandidates(stack.getItem());
+    }
+    for(MeltingRecipe recipe : candidates) {
       if(recipe.matches(stack)) {
         return recipe;
       }
@@ -497,10 +548,66 @@ public final class TinkerRegistry {
     return null;
   }
 
+  /**
+   * All melting recipes that could possibly match the item, in registration order. Built once per item.
+   * Only the built-in RecipeMatch types are known to match nothing but the inputs they list, all other recipes and
+   * recipes that don't list their inputs are candidates for every item.
+   */
+  private static List<MeltingRecipe> getMeltingCandidates(Item item) {
+    List<MeltingRecipe> candidates = meltingIndex.get(item);
+    if(candidates == null) {
+      candidates = Lists.newArrayList();
+      for(MeltingRecipe recipe : meltingRegistry) {
+        List<ItemStack> inputs = isIndexable(recipe) ? recipe.input.getInputs() : null;
+        if(inputs == null || inputs.isEmpty()) {
+          candidates.add(recipe);
+          continue;
+        }
+        for(ItemStack stack : inputs) {
+          if(stack != null && stack.getItem() == item) {
+            candidates.add(recipe);
+            break;
+          }
+        }
+      }
+      meltingIndex.put(item, candidates);
+    }
+
+    return candidates;
+  }
+
+  private static boolean isIndexable(MeltingRecipe recipe) {
+    if(recipe.getClass() != MeltingRecipe.class || recipe.input == null) {
+      return false;
+    }
+    Class<?> match = recipe.input.getClass();
+    return match == RecipeMatch.Item.class || match == RecipeMatch.ItemCombination.class || match == RecipeMatch.Oredict.class;
+  }
+
+  private static void addMelting(MeltingRecipe recipe) {
+    meltingRegistry.add(recipe);
+    meltingIndex.clear();
+  }
+
+  /**
+   * Forgets the melting and casting recipe indices, for example if the ore dictionary changed after recipes were
+   * looked up. The indices are rebuilt on demand.
+   */
+  public static void clearSmelteryRecipeIndex() {
+    meltingIndex.clear();
+    tableCastIndex.clear();
+    basinCastIndex.clear();
+  }
+
   public static List<MeltingRecipe> getAllMeltingRecipies() {
     return ImmutableList.copyOf(meltingRegistry);
   }
 
+  /** Read-only view of the registered recipes without copying them. Don't register recipes while iterating it. */
+  public static List<MeltingRecipe> getMeltingRecipeView() {
+    return Collections.unmodifiableList(meltingRegistry);
+  }
+
   public static void registerAlloy(FluidStack result, FluidStack... inputs) {
     if(result.amount < 1) {
       error("Alloy Recipe: Resulting alloy %s has to have an amount (%d)", result.getLocalizedName(), result.amount);
@@ -516,21 +623,33 @@ public final class TinkerRegistry {
     return ImmutableList.copyOf(alloyRegistry);
   }
 
+  /** Read-only view of the registered recipes without copying them. Don't register recipes while iterating it. */
+  public static List<AlloyRecipe> getAlloyView() {
+    return Collections.unmodifiableList(alloyRegistry);
+  }
+
   /** Registers a casting recipe for casting table */
   public static void registerTableCasting(ItemStack output, @Nullable ItemStack cast, Fluid fluid, int amount) {
     RecipeMatch rm = null;
     if(cast != null) {
       rm = RecipeMatch.ofNBT(cast);
     }
-    tableCastRegistry.add(new CastingRecipe(output, rm, fluid, amount));
+    registerTableCasting(new CastingRecipe(output, rm, fluid, amount));
   }
 
   public static void registerTableCasting(ICastingRecipe recipe) {
     tableCastRegistry.add(recipe);
+    tableCastIndex.clear();
+  }
+
+  /** Registers all the recipes at once, for registering lots of recipes like the ones of all toolparts */
+  public static void registerTableCastings(Collection<? extends ICastingRecipe> recipes) {
+    tableCastRegistry.addAll(recipes);
+    tableCastIndex.clear();
   }
 
   public static ICastingRecipe getTableCasting(@Nullable ItemStack cast, Fluid fluid) {
-    for(ICastingRecipe recipe : tableCastRegistry) {
+    for(ICastingRecipe recipe : getCastingCandidates(tableCastRegistry, tableCastIndex, fluid)) {
       if(recipe.matches(cast, fluid)) {
         return recipe;
       }
@@ -542,6 +661,11 @@ public final class TinkerRegistry {
     return ImmutableList.copyOf(tableCastRegistry);
   }
 
+  /** Read-only view of the registered recipes without copying them. Don't register recipes while iterating it. */
+  public static List<ICastingRecipe> getTableCastingView() {
+    return Collections.unmodifiableList(tableCastRegistry);
+  }
+
 
   /** Registers a casting recipe for the casting basin */
   public static void registerBasinCasting(ItemStack output, @Nullable ItemStack cast, Fluid fluid, int amount) {
@@ -549,15 +673,22 @@ public final class TinkerRegistry {
     if(cast != null) {
       rm = RecipeMatch.ofNBT(cast);
     }
-    basinCastRegistry.add(new CastingRecipe(output, rm, fluid, amount));
+    registerBasinCasting(new CastingRecipe(output, rm, fluid, amount));
   }
 
   public static void registerBasinCasting(ICastingRecipe recipe) {
     basinCastRegistry.add(recipe);
+    basinCastIndex.clear();
+  }
+
+  /** Registers all the recipes at once, for registering lots of recipes like the ones of all toolparts */
+  public static void registerBasinCastings(Collection<? extends ICastingRecipe> recipes) {
+    basinCastRegistry.addAll(recipes);
+    basinCastIndex.clear();
   }
 
   public static ICastingRecipe getBasinCasting(@Nullable ItemStack cast, Fluid fluid) {
-    for(ICastingRecipe recipe : basinCastRegistry) {
+    for(ICastingRecipe recipe : getCastingCandidates(basinCastRegistry, basinCastIndex, fluid)) {
       if(recipe.matches(cast, fluid)) {
         return recipe;
       }
@@ -569,6 +700,34 @@ public final class TinkerRegistry {
     return ImmutableList.copyOf(basinCastRegistry);
   }
 
+  /** Read-only view of the registered recipes without copying them. Don't register recipes while iterating it. */
+  public static List<ICastingRecipe> getBasinCastingView() {
+    return Collections.unmodifiableList(basinCastRegistry);
+  }
+
+  /**
+   * All casting recipes that could use the fluid, in registration order. Built once per fluid.
+   * Only plain CastingRecipes are known to need exactly their fluid, all other recipes are candidates for every fluid.
+   */
+  private static List<ICastingRecipe> getCastingCandidates(List<ICastingRecipe> registry, Map<Fluid, List<ICastingRecipe>> index, @Nullable Fluid fluid) {
+    if(fluid == null) {
+      return registry;
+    }
+
+    List<ICastingRecipe> candidates = index.get(fluid);
+    if(candidates == null) {
+      candidates = Lists.newArrayList();
+      for(ICastingRecipe recipe : registry) {
+        if(recipe.getClass() != CastingRecipe.class || ((CastingRecipe) recipe).getFluid().getFluid() == fluid) {
+          candidates.add(recipe);
+        }
+      }
+      index.put(fluid, candidates);
+    }
+
+    return candidates;
+  }
+
   /**
    * Registers a liquid to be used as smeltery fuel.
    * Temperature is derived from fluid temperature.
@@ -637,7 +796,9 @@ public final class TinkerRegistry {
   /*---------------------------------------------------------------------------
   | Drying Rack                                                               |
   ---------------------------------------------------------------------------*/
-  private static List<DryingRecipe> dryingRegistry = Lists.newLinkedList();
+  private static List<DryingRecipe> dryingRegistry = Lists.newArrayList();
+  // input item -> recipes that could match it
+  private static Map<Item, List<DryingRecipe>> dryingIndex = Maps.newConcurrentMap();
 
   /**
    * @return The list of all drying rack recipes
@@ -645,6 +806,11 @@ public final class TinkerRegistry {
   public static List<DryingRecipe> getAllDryingRecipes() {
     return ImmutableList.copyOf(dryingRegistry);
   }
+
+  /** Read-only view of the registered recipes without copying them. Don't register recipes while iterating it. */
+  public static List<DryingRecipe> getDryingRecipeView() {
+    return Collections.unmodifiableList(dryingRegistry);
+  }
   
   /**
    * Adds a new drying recipe
@@ -656,7 +822,7 @@ public final class TinkerRegistry {
     if ( output == null || input == null ) {
       return;
     }
-    dryingRegistry.add(new DryingRecipe(new RecipeMatch.Item(input, 1), output, time));
+    addDryingRecipe(new DryingRecipe(new RecipeMatch.Item(input, 1), output, time));
   }
   
   /**
@@ -671,7 +837,7 @@ public final class TinkerRegistry {
     }
     
     ItemStack stack = new ItemStack(input, 1, OreDictionary.WILDCARD_VALUE);
-    dryingRegistry.add(new DryingRecipe(new RecipeMatch.Item(stack, 1), output, time));
+    addDryingRecipe(new DryingRecipe(new RecipeMatch.Item(stack, 1), output, time));
   }
   
   /**
@@ -686,7 +852,7 @@ public final class TinkerRegistry {
     }
 
     ItemStack stack = new ItemStack(input, 1, OreDictionary.WILDCARD_VALUE);
-    dryingRegistry.add(new DryingRecipe(new RecipeMatch.Item(stack, 1), new ItemStack(output), time));
+    addDryingRecipe(new DryingRecipe(new RecipeMatch.Item(stack, 1), new ItemStack(output), time));
   }
   
   /**
@@ -701,7 +867,7 @@ public final class TinkerRegistry {
     }
     
     ItemStack stack = new ItemStack(input, 1, OreDictionary.WILDCARD_VALUE);
-    dryingRegistry.add(new DryingRecipe(new RecipeMatch.Item(stack, 1), new ItemStack(output), time));
+    addDryingRecipe(new DryingRecipe(new RecipeMatch.Item(stack, 1), new ItemStack(output), time));
   }
 
   /**
@@ -715,22 +881,37 @@ public final class TinkerRegistry {
       return;
     }
     
-    dryingRegistry.add(new DryingRecipe(new RecipeMatch.Oredict(oredict, 1), output, time));
+    addDryingRecipe(new DryingRecipe(new RecipeMatch.Oredict(oredict, 1), output, time));
   }
   
   /**
-   * Gets the drying time for a drying recipe
+   * Gets the drying recipe for the given input. The recipes are indexed by input item, so this does not scan all
+   * recipes. The first registered recipe that matches wins.
    * @param input Input ItemStack
-   * @return Output drying time, or -1 if no recipe is found
+   * @return The recipe, or null if no recipe is found
    */
-  public static int getDryingTime (ItemStack input) {
-    for (DryingRecipe r : dryingRegistry) {
-      if (r.matches(input)) {
-        return r.getTime();
+  public static DryingRecipe getDryingRecipe(ItemStack input) {
+    if(input == null || input.getItem() == null) {
+      return null;
+    }
+
+    for(DryingRecipe r : getDryingCandidates(input.getItem())) {
+      if(r.matches(input)) {
+        return r;
       }
     }
 
-    return -1;
+    return null;
+  }
+
+  /**
+   * Gets the drying time for a drying recipe
+   * @param input Input ItemStack
+   * @return Output drying time, or -1 if no recipe is found
+   */
+  public static int getDryingTime (ItemStack input) {
+    DryingRecipe recipe = getDryingRecipe(input);
+    return recipe != null ? recipe.getTime() : -1;
   }
   
   /**
@@ -739,13 +920,48 @@ public final class TinkerRegistry {
    * @return Output A copy of the output ItemStack, or null if no recipe is found
    */  
   public static ItemStack getDryingResult (ItemStack input) {
-    for (DryingRecipe r : dryingRegistry) {
-      if (r.matches(input)) {
-        return r.getResult();
+    DryingRecipe recipe = getDryingRecipe(input);
+    return recipe != null ? recipe.getResult() : null;
+  }
+
+  /**
+   * All recipes that could possibly match the item, in registration order. Built once per item.
+   * Recipes that don't list their inputs are candidates for every item.
+   */
+  private static List<DryingRecipe> getDryingCandidates(Item item) {
+    List<DryingRecipe> candidates = dryingIndex.get(item);
+    if(candidates == null) {
+      candidates = Lists.newArrayList();
+      for(DryingRecipe r : dryingRegistry) {
+        List<ItemStack> inputs = r.input != null ? r.input.getInputs() : null;
+        if(inputs == null || inputs.isEmpty()) {
+          candidates.add(r);
+          continue;
+        }
+        for(ItemStack stack : inputs) {
+          if(stack != null && stack.getItem() == item) {
+            candidates.add(r);
+            break;
+          }
+        }
       }
+      dryingIndex.put(item, candidates);
     }
 
-    return null;
+    return candidates;
+  }
+
+  private static void addDryingRecipe(DryingRecipe recipe) {
+    dryingRegistry.add(recipe);
+    dryingIndex.clear();
+  }
+
+  /**
+   * Forgets the drying recipe index, for example if the ore dictionary changed after recipes were looked up.
+   * The index is rebuilt on demand.
+   */
+  public static void clearDryingRecipeIndex() {
+    dryingIndex.clear();
   }
 
   /*---------------------------------------------------------------------------
@@ -1,5 +1,6 @@
 package slimeknights.tconstruct.library.client;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -26,11 +27,13 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
 
+import slimeknights.tconstruct.common.config.Config;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.client.model.IPatternOffset;
@@ -44,6 +47,7 @@ import slimeknights.tconstruct.library.materials.Material;
 import slimeknights.tconstruct.library.materials.MaterialGUI;
 import slimeknights.tconstruct.library.tools.IToolPart;
 import slimeknights.tconstruct.library.tools.Pattern;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 
 /**
  * Textures registered with this creator will get a texture created/loaded for each material.
@@ -59,6 +63,15 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
 
   private static Set<ResourceLocation> baseTextures = Sets.newHashSet();
 
+  /**
+   * Materials that got no textures in the last stitch because they were not obtainable.
+   */
+  private static Set<String> skippedMaterials = Sets.newHashSet();
+  /**
+   * Materials that were skipped but turned up on an item anyway. They get their textures on the next reload.
+   */
+  private static Set<String> usedMaterials = Sets.newHashSet();
+
   public static void registerTextures(Collection<ResourceLocation> textures) {
     baseTextures.addAll(textures);
   }
@@ -76,6 +89,7 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
   public static final Material guiMaterial;
 
   private int createdTextures;
+  private boolean profiled;
 
   // low since other event-handlers might want to register textures beforehand
   @SubscribeEvent(priority = EventPriority.LOW)
@@ -87,6 +101,11 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
       return;
     }
 
+    // the first run is part of the game startup, later ones are resource reloads
+    boolean profile = !profiled;
+    if(profile) {
+      StartupProfiler.begin("CustomTextureCreator", "textures");
+    }
 
     createdTextures = 0;
     // create textures for each material where needed
@@ -96,9 +115,33 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
     createPatterntextures(event.getMap());
 
     log.debug("Generated " + createdTextures + " Textures for Materials");
+
+    if(profile) {
+      StartupProfiler.end();
+      profiled = true;
+      // the textures get stitched after the end of loading, so the report has to be written again to include them
+      if(StartupProfiler.isReported()) {
+        StartupProfiler.report(Config.startupReport);
+      }
+    }
   }
 
   private void createMaterialTextures(TextureMap map) {
+    // determine which materials get textures at all
+    skippedMaterials.clear();
+    List<Material> materials = Lists.newArrayList();
+    for(Material material : TinkerRegistry.getAllMaterials()) {
+      if(shouldCreateTextures(material)) {
+        materials.add(material);
+      }
+      else {
+        skippedMaterials.add(material.identifier);
+      }
+    }
+    if(!skippedMaterials.isEmpty()) {
+      log.debug("Skipped textures for " + skippedMaterials.size() + " unobtainable materials");
+    }
+
     // Create textures for toolparts and tools - Textures that need 1 per material
     for(ResourceLocation baseTexture : baseTextures) {
       // exclude missingno :I
@@ -113,7 +156,7 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
       }
 
       Map<String, TextureAtlasSprite> builtSprites = Maps.newHashMap();
-      for(Material material : TinkerRegistry.getAllMaterials()) {
+      for(Material material : materials) {
         TextureAtlasSprite sprite = createTexture(material, baseTexture, base, map);
         if(sprite != null) {
           builtSprites.put(material.identifier, sprite);
@@ -131,6 +174,34 @@ public class CustomTextureCreator implements IResourceManagerReloadListener {
     }
   }
 
+  /**
+   * Without lazy textures every material gets its textures. Otherwise only materials that can be obtained
+   * (crafted or cast) or were already encountered on an item.
+   */
+  public static boolean shouldCreateTextures(Material material) {
+    if(!Config.lazyMaterialTextures) {
+      return true;
+    }
+    if(usedMaterials.contains(material.identifier)) {
+      return true;
+    }
+    return !material.isHidden() && (material.isCraftable() || material.isCastable());
+  }
+
+  /**
+   * Called when a model needs the textures of a material.
+   *
+   * @return true if the material was skipped in the last stitch and therefore has no textures.
+   * It'll be included on the next reload.
+   */
+  public static boolean markMaterialUsed(Material material) {
+    if(skippedMaterials.contains(material.identifier)) {
+      usedMaterials.add(material.identifier);
+      return true;
+    }
+    return false;
+  }
+
   private TextureAtlasSprite createTexture(Material material, ResourceLocation baseTexture, TextureAtlasSprite base, TextureMap map) {
     String location = baseTexture.toString() + "_" + material.identifier;
     TextureAtlasSprite sprite;
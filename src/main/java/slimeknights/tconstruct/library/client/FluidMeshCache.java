@@ -0,0 +1,158 @@
+package slimeknights.tconstruct.library.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import net.minecraft.client.renderer.VertexBuffer;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.IResourceManagerReloadListener;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Caches the vertex data of rendered fluid cuboids, so tanks, casting tables, faucets and smelteries that don't change
+ * don't have to recalculate all their quads every frame.
+ * Meshes are stored in block-local coordinates, the translation to the rendered position happens via GL.
+ */
+@SideOnly(Side.CLIENT)
+public final class FluidMeshCache {
+
+  /** Fill levels and bounds are rounded to 1/PRECISION of a block. Fine enough to not be visible. */
+  private static final int PRECISION = 256;
+
+  private static final Cache<MeshKey, int[]> meshes = CacheBuilder.newBuilder()
+                                                                  .maximumSize(1024)
+                                                                  .expireAfterAccess(30, TimeUnit.SECONDS)
+                                                                  .build();
+
+  private FluidMeshCache() {
+  }
+
+  /** Rounds the given coordinate to the mesh precision, so slightly different fill levels share the same mesh */
+  public static double quantize(double value) {
+    return (double) Math.round(value * PRECISION) / (double) PRECISION;
+  }
+
+  public static MeshKey key(TextureAtlasSprite still, TextureAtlasSprite flowing, int color, int brightness,
+                            double x1, double y1, double z1, double x2, double y2, double z2) {
+    return new MeshKey(still, flowing, color, brightness,
+                       (int) Math.round(x1 * PRECISION), (int) Math.round(y1 * PRECISION), (int) Math.round(z1 * PRECISION),
+                       (int) Math.round(x2 * PRECISION), (int) Math.round(y2 * PRECISION), (int) Math.round(z2 * PRECISION));
+  }
+
+  /**
+   * Adds the cached mesh to the renderer.
+   *
+   * @return false if there is no cached mesh for the key and it has to be built
+   */
+  public static boolean putCachedMesh(VertexBuffer renderer, MeshKey key) {
+    int[] data = meshes.getIfPresent(key);
+    if(data == null) {
+      return false;
+    }
+
+    renderer.addVertexData(data);
+    return true;
+  }
+
+  /**
+   * Saves everything that has been added to the renderer since the given vertex count as mesh for the key.
+   */
+  public static void cacheMesh(VertexBuffer renderer, MeshKey key, int startVertex) {
+    int intSize = renderer.getVertexFormat().getIntegerSize();
+    int start = startVertex * intSize;
+    int end = renderer.getVertexCount() * intSize;
+
+    IntBuffer buffer = renderer.getByteBuffer().asIntBuffer();
+    int[] data = new int[end - start];
+    buffer.position(start);
+    buffer.get(data);
+
+    meshes.put(key, data);
+  }
+
+  public static void clear() {
+    meshes.invalidateAll();
+  }
+
+  /** Drops all meshes on resource reloads, their UVs belong to the sprites of the old texture atlas */
+  public static class CacheClearer implements IResourceManagerReloadListener {
+
+    public static CacheClearer INSTANCE = new CacheClearer();
+
+    private CacheClearer() {
+    }
+
+    @Override
+    public void onResourceManagerReload(@Nonnull IResourceManager resourceManager) {
+      clear();
+    }
+  }
+
+  /**
+   * Sprites are compared by identity, so meshes of a previous texture atlas never match after a resource reload.
+   */
+  public static final class MeshKey {
+
+    private final TextureAtlasSprite still;
+    private final TextureAtlasSprite flowing;
+    private final int color;
+    private final int brightness;
+    private final int x1, y1, z1, x2, y2, z2;
+    private final int hash;
+
+    private MeshKey(TextureAtlasSprite still, TextureAtlasSprite flowing, int color, int brightness,
+                    int x1, int y1, int z1, int x2, int y2, int z2) {
+      this.still = still;
+      this.flowing = flowing;
+      this.color = color;
+      this.brightness = brightness;
+      this.x1 = x1;
+      this.y1 = y1;
+      this.z1 = z1;
+      this.x2 = x2;
+      this.y2 = y2;
+      this.z2 = z2;
+
+      int h = System.identityHashCode(still);
+      h = 31 * h + System.identityHashCode(flowing);
+      h = 31 * h + color;
+      h = 31 * h + brightness;
+      h = 31 * h + x1;
+      h = 31 * h + y1;
+      h = 31 * h + z1;
+      h = 31 * h + x2;
+      h = 31 * h + y2;
+      h = 31 * h + z2;
+      this.hash = h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if(this == o) {
+        return true;
+      }
+      if(!(o instanceof MeshKey)) {
+        return false;
+      }
+
+      MeshKey other = (MeshKey) o;
+      return hash == other.hash
+             && still == other.still && flowing == other.flowing
+             && color == other.color && brightness == other.brightness
+             && x1 == other.x1 && y1 == other.y1 && z1 == other.z1
+             && x2 == other.x2 && y2 == other.y2 && z2 == other.z2;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
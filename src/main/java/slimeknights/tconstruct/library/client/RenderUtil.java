@@ -115,13 +115,27 @@ public final class RenderUtil {
     TextureAtlasSprite still = mc.getTextureMapBlocks().getTextureExtry(fluid.getFluid().getStill(fluid).toString());
     TextureAtlasSprite flowing = mc.getTextureMapBlocks().getTextureExtry(fluid.getFluid().getFlowing(fluid).toString());
 
-    // x/y/z2 - x/y/z1 is because we need the width/height/depth
-    putTexturedQuad(renderer, still,   x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.DOWN,  color, brightness, false);
-    putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.NORTH, color, brightness, true);
-    putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.EAST,  color, brightness, true);
-    putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.SOUTH, color, brightness, true);
-    putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.WEST,  color, brightness, true);
-    putTexturedQuad(renderer, still  , x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.UP,    color, brightness, false);
+    // reuse the mesh from previous frames if nothing changed
+    FluidMeshCache.MeshKey key = FluidMeshCache.key(still, flowing, color, brightness, x1, y1, z1, x2, y2, z2);
+    if(!FluidMeshCache.putCachedMesh(renderer, key)) {
+      // build with the rounded values so the mesh matches its key
+      x1 = FluidMeshCache.quantize(x1);
+      y1 = FluidMeshCache.quantize(y1);
+      z1 = FluidMeshCache.quantize(z1);
+      x2 = FluidMeshCache.quantize(x2);
+      y2 = FluidMeshCache.quantize(y2);
+      z2 = FluidMeshCache.quantize(z2);
+
+      // x/y/z2 - x/y/z1 is because we need the width/height/depth
+      putTexturedQuad(renderer, still,   x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.DOWN,  color, brightness, false);
+      putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.NORTH, color, brightness, true);
+      putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.EAST,  color, brightness, true);
+      putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.SOUTH, color, brightness, true);
+      putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.WEST,  color, brightness, true);
+      putTexturedQuad(renderer, still  , x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.UP,    color, brightness, false);
+
+      FluidMeshCache.cacheMesh(renderer, key, 0);
+    }
 
     tessellator.draw();
 
@@ -157,52 +171,59 @@ public final class RenderUtil {
     int yd = (int) (ymax - ymin);
     int zd = to.getZ() - from.getZ();
 
-    double xmin = FLUID_OFFSET;
-    double xmax = xd + 1d - FLUID_OFFSET;
-    //double ymin = y1;
-    //double ymax = y2;
-    double zmin = FLUID_OFFSET;
-    double zmax = zd + 1d - FLUID_OFFSET;
-
-    double[] xs = new double[2 + xd];
-    double[] ys = new double[2 + yd];
-    double[] zs = new double[2 + zd];
-
-    xs[0] = xmin;
-    for(int i = 1; i <= xd; i++) xs[i] = i;
-    xs[xd+1] = xmax;
-
-    ys[0] = ymin;
-    for(int i = 1; i <= yd; i++) ys[i] = i;
-    ys[yd+1] = ymax;
-
-    zs[0] = zmin;
-    for(int i = 1; i <= zd; i++) zs[i] = i;
-    zs[zd+1] = zmax;
-
-    // render each side
-    for(int y = 0; y <= yd; y++) {
-      for(int z = 0; z <= zd; z++) {
-        for(int x = 0; x <= xd; x++) {
-
-          double x1 = xs[x];
-          double x2 = xs[x+1] - x1;
-          double y1 = ys[y];
-          double y2 = ys[y+1] - y1;
-          double z1 = zs[z];
-          double z2 = zs[z+1] - z1;
-
-          if(x == 0)  putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.WEST,  color, brightness, true);
-          if(x == xd) putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.EAST,  color, brightness, true);
-          if(y == 0)  putTexturedQuad(renderer, still,   x1, y1, z1, x2, y2, z2, EnumFacing.DOWN,  color, brightness, false);
-          if(y == yd) putTexturedQuad(renderer, still,   x1, y1, z1, x2, y2, z2, EnumFacing.UP,    color, brightness, false);
-          if(z == 0)  putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.NORTH, color, brightness, true);
-          if(z == zd) putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.SOUTH, color, brightness, true);
+    // only the outer faces of the whole cuboid are rendered, so the mesh only depends on its size and fill level
+    FluidMeshCache.MeshKey key = FluidMeshCache.key(still, flowing, color, brightness, 0, ymin, 0, xd, ymax, zd);
+    if(!FluidMeshCache.putCachedMesh(renderer, key)) {
+      ymin = FluidMeshCache.quantize(ymin);
+      ymax = FluidMeshCache.quantize(ymax);
+
+      double xmin = FLUID_OFFSET;
+      double xmax = xd + 1d - FLUID_OFFSET;
+      //double ymin = y1;
+      //double ymax = y2;
+      double zmin = FLUID_OFFSET;
+      double zmax = zd + 1d - FLUID_OFFSET;
+
+      double[] xs = new double[2 + xd];
+      double[] ys = new double[2 + yd];
+      double[] zs = new double[2 + zd];
+
+      xs[0] = xmin;
+      for(int i = 1; i <= xd; i++) xs[i] = i;
+      xs[xd+1] = xmax;
+
+      ys[0] = ymin;
+      for(int i = 1; i <= yd; i++) ys[i] = i;
+      ys[yd+1] = ymax;
+
+      zs[0] = zmin;
+      for(int i = 1; i <= zd; i++) zs[i] = i;
+      zs[zd+1] = zmax;
+
+      // render each side
+      for(int y = 0; y <= yd; y++) {
+        for(int z = 0; z <= zd; z++) {
+          for(int x = 0; x <= xd; x++) {
+
+            double x1 = xs[x];
+            double x2 = xs[x+1] - x1;
+            double y1 = ys[y];
+            double y2 = ys[y+1] - y1;
+            double z1 = zs[z];
+            double z2 = zs[z+1] - z1;
+
+            if(x == 0)  putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.WEST,  color, brightness, true);
+            if(x == xd) putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.EAST,  color, brightness, true);
+            if(y == 0)  putTexturedQuad(renderer, still,   x1, y1, z1, x2, y2, z2, EnumFacing.DOWN,  color, brightness, false);
+            if(y == yd) putTexturedQuad(renderer, still,   x1, y1, z1, x2, y2, z2, EnumFacing.UP,    color, brightness, false);
+            if(z == 0)  putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.NORTH, color, brightness, true);
+            if(z == zd) putTexturedQuad(renderer, flowing, x1, y1, z1, x2, y2, z2, EnumFacing.SOUTH, color, brightness, true);
+          }
         }
       }
-    }
-
 
+      FluidMeshCache.cacheMesh(renderer, key, 0);
+    }
 
     //putTexturedQuad(renderer, still,   x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.DOWN, color, brightness);
     //putTexturedQuad(renderer, flowing, x1, y1, z1, x2-x1, y2-y1, z2-z1, EnumFacing.NORTH, color, brightness);
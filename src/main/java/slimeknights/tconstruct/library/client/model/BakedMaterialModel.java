@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableMap;
 
 import gnu.trove.map.hash.THashMap;
 
+import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.block.model.IBakedModel;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms.TransformType;
 import net.minecraft.client.renderer.block.model.ItemOverride;
@@ -19,10 +20,15 @@ import java.util.Map;
 
 import javax.annotation.Nonnull;
 
+import slimeknights.mantle.client.model.BakedSimple;
 import slimeknights.mantle.client.model.BakedWrapper;
 import slimeknights.tconstruct.library.TinkerRegistry;
+import slimeknights.tconstruct.library.client.CustomTextureCreator;
 import slimeknights.tconstruct.library.materials.Material;
 import slimeknights.tconstruct.library.tinkering.IMaterialItem;
+import slimeknights.tconstruct.library.tinkering.MaterialItem;
+import slimeknights.tconstruct.library.utils.TagUtil;
+import slimeknights.tconstruct.library.utils.Tags;
 
 /**
  * This class represents something that has a single material. The base model is the default without a material. The
@@ -33,11 +39,17 @@ import slimeknights.tconstruct.library.tinkering.IMaterialItem;
 public class BakedMaterialModel extends BakedWrapper.Perspective implements IPerspectiveAwareModel {
 
   protected Map<String, IBakedModel> parts;
+  // resolved models by the material tag of material items, including unknown materials
+  // a new model gets baked on every resource reload, so this never outlives the textures it points to
+  protected Map<String, IBakedModel> stackModels;
+  protected final ImmutableMap<TransformType, TRSRTransformation> transforms;
 
   public BakedMaterialModel(IBakedModel base, ImmutableMap<TransformType, TRSRTransformation> transforms) {
     super(base, transforms);
 
+    this.transforms = transforms;
     this.parts = new THashMap<String, IBakedModel>(TinkerRegistry.getAllMaterials().size());
+    this.stackModels = new THashMap<String, IBakedModel>(TinkerRegistry.getAllMaterials().size());
   }
 
   public void addMaterialModel(Material material, IBakedModel model) {
@@ -47,12 +59,48 @@ public class BakedMaterialModel extends BakedWrapper.Perspective implements IPer
   public IBakedModel getModelByIdentifier(String identifier) {
     IBakedModel materialModel = parts.get(identifier);
     if(materialModel == null) {
-      return this;
+      return getFallbackModel(identifier);
     }
 
     return materialModel;
   }
 
+  /** Returns the model of the material of the given stack */
+  public IBakedModel getModelForStack(ItemStack stack) {
+    // material items save the identifier as is, so the tag maps straight to a model without the registry lookup
+    // keyed by the tag content instead of the compound, modifiers and repairs change the compound of a stack in place
+    if(stack.getItem() instanceof MaterialItem) {
+      String materialTag = TagUtil.getTagSafe(stack).getString(Tags.PART_MATERIAL);
+      IBakedModel model = stackModels.get(materialTag);
+      if(model == null) {
+        model = getModelByIdentifier(((IMaterialItem) stack.getItem()).getMaterialID(stack));
+        stackModels.put(materialTag, model);
+      }
+      return model;
+    }
+    return getModelByIdentifier(((IMaterialItem) stack.getItem()).getMaterialID(stack));
+  }
+
+  /**
+   * Materials that had their textures skipped (lazy material textures) get the base model tinted in the material color
+   * until the next resource reload.
+   */
+  protected IBakedModel getFallbackModel(String identifier) {
+    Material material = TinkerRegistry.getMaterial(identifier);
+    if(!CustomTextureCreator.markMaterialUsed(material)) {
+      return this;
+    }
+
+    ImmutableList.Builder<BakedQuad> quads = ImmutableList.builder();
+    for(BakedQuad quad : getQuads(null, null, 0)) {
+      quads.add(ModelHelper.colorQuad(material.materialTextColor, quad));
+    }
+
+    IBakedModel fallback = new BakedSimple(quads.build(), transforms, this);
+    parts.put(identifier, fallback);
+    return fallback;
+  }
+
   @Nonnull
   @Override
   public ItemOverrideList getOverrides() {
@@ -70,8 +118,7 @@ public class BakedMaterialModel extends BakedWrapper.Perspective implements IPer
     @Nonnull
     @Override
     public IBakedModel handleItemState(@Nonnull IBakedModel originalModel, ItemStack stack, @Nonnull World world, @Nonnull EntityLivingBase entity) {
-      String id = ((IMaterialItem) stack.getItem()).getMaterialID(stack);
-      return ((BakedMaterialModel) originalModel).getModelByIdentifier(id);
+      return ((BakedMaterialModel) originalModel).getModelForStack(stack);
     }
   }
 }
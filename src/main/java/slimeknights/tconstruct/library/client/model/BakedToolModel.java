@@ -76,9 +76,9 @@ public class BakedToolModel extends BakedWrapper.Perspective {
         BakedMaterialModel brokenParts[] = original.brokenParts;
         Map<String, IBakedModel> modifierParts = original.modifierParts;
 
-        NBTTagCompound toolTag = TagUtil.getToolTag(stack);
-        NBTTagList materials = TagUtil.getBaseMaterialsTagList(stack);
-        NBTTagList modifiers = TagUtil.getBaseModifiersTagList(stack);
+        NBTTagCompound toolTag = TagUtil.getToolTagReadOnly(stack);
+        NBTTagList materials = TagUtil.getBaseMaterialsTagListReadOnly(stack);
+        NBTTagList modifiers = TagUtil.getBaseModifiersTagListReadOnly(stack);
 
         // get the texture for each part
         ImmutableList.Builder<BakedQuad> quads = ImmutableList.builder();
@@ -69,33 +69,42 @@ public class MaterialModel implements IPatternOffset, IModel {
     BakedMaterialModel bakedMaterialModel = new BakedMaterialModel(base, map);
 
     // and generate the baked model for each material-variant we have for the base texture
+    // the model loader and the texture getter aren't threadsafe, so everything stays on the calling thread
     String baseTexture = base.getParticleTexture().getIconName();
     Map<String, TextureAtlasSprite> sprites = CustomTextureCreator.sprites.get(baseTexture);
 
     for(Map.Entry<String, TextureAtlasSprite> entry : sprites.entrySet()) {
       Material material = TinkerRegistry.getMaterial(entry.getKey());
+      String sprite = entry.getValue().getIconName();
+      // if it's a colored material we need to color the quads. But only if the texture was not a custom texture
+      boolean colored = material.renderInfo.useVertexColoring() && !CustomTextureCreator.exists(baseTexture + "_" + material.identifier);
 
-      IModel model2 = ItemLayerModel.INSTANCE.retexture(ImmutableMap.of("layer0", entry.getValue().getIconName()));
-      IBakedModel bakedModel2 = model2.bake(state, format, bakedTextureGetter);
+      bakedMaterialModel.addMaterialModel(material, bakeVariant(material, sprite, colored, state, format, bakedTextureGetter, map));
+    }
 
-      // if it's a colored material we need to color the quads. But only if the texture was not a custom texture
-      if(material.renderInfo.useVertexColoring() && !CustomTextureCreator.exists(baseTexture + "_" + material.identifier)) {
-        int color = (material.renderInfo).getVertexColor();
+    return bakedMaterialModel;
+  }
+
+  protected static IBakedModel bakeVariant(Material material, String sprite, boolean colored, IModelState state, VertexFormat format,
+                                          Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter,
+                                          ImmutableMap<TransformType, TRSRTransformation> transforms) {
+    IModel model = ItemLayerModel.INSTANCE.retexture(ImmutableMap.of("layer0", sprite));
+    IBakedModel bakedModel = model.bake(state, format, bakedTextureGetter);
 
-        ImmutableList.Builder<BakedQuad> quads = ImmutableList.builder();
-        // ItemLayerModel.BakedModel only uses general quads
-        for(BakedQuad quad : bakedModel2.getQuads(null, null, 0)) {
-          quads.add(ModelHelper.colorQuad(color, quad));
-        }
+    if(colored) {
+      int color = (material.renderInfo).getVertexColor();
 
-        // create a new model with the colored quads
-        bakedModel2 = new BakedSimple(quads.build(), map, bakedModel2);
+      ImmutableList.Builder<BakedQuad> quads = ImmutableList.builder();
+      // ItemLayerModel.BakedModel only uses general quads
+      for(BakedQuad quad : bakedModel.getQuads(null, null, 0)) {
+        quads.add(ModelHelper.colorQuad(color, quad));
       }
 
-      bakedMaterialModel.addMaterialModel(material, bakedModel2);
+      // create a new model with the colored quads
+      bakedModel = new BakedSimple(quads.build(), transforms, bakedModel);
     }
 
-    return bakedMaterialModel;
+    return bakedModel;
   }
 
   @Override
@@ -6,8 +6,7 @@ import net.minecraft.world.WorldServer;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 
-import slimeknights.tconstruct.common.TinkerNetwork;
-import slimeknights.tconstruct.smeltery.network.FluidUpdatePacket;
+import slimeknights.tconstruct.smeltery.network.FluidUpdateQueue;
 
 public class FluidTankAnimated extends FluidTank {
 
@@ -51,7 +50,7 @@ public class FluidTankAnimated extends FluidTank {
       renderOffset += amount;
       World world = parent.getWorld();
       if(!world.isRemote && world instanceof WorldServer) {
-        TinkerNetwork.sendToClients((WorldServer) world, parent.getPos(), new FluidUpdatePacket(parent.getPos(), this.getFluid()));
+        FluidUpdateQueue.queueFluid((WorldServer) world, parent.getPos(), this.getFluid());
       }
     }
   }
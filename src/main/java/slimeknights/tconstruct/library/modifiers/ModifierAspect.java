@@ -73,6 +73,7 @@ public abstract class ModifierAspect {
       NBTTagCompound toolTag = TagUtil.getToolTag(root);
       int modifiers = toolTag.getInteger(Tags.FREE_MODIFIERS) - requiredModifiers;
       toolTag.setInteger(Tags.FREE_MODIFIERS, Math.max(0, modifiers));
+      TagUtil.setToolTag(root, toolTag);
 
       // and increase the count of used modifiers
       int usedModifiers = TagUtil.getBaseModifiersUsed(root);
@@ -90,7 +91,7 @@ public abstract class ModifierAspect {
     @Override
     public boolean canApply(ItemStack stack, ItemStack original) throws TinkerGuiException {
       // can always apply if the parent already has the modifier
-      if(TinkerUtil.hasModifier(TagUtil.getTagSafe(stack), parent.getIdentifier())) {
+      if(TinkerUtil.hasModifier(TagUtil.getTagReadOnly(stack), parent.getIdentifier())) {
         return true;
       }
 
@@ -306,9 +307,9 @@ public abstract class ModifierAspect {
       // check if the modifier is present in the base info.
       // this is not the same as checking if the modifier has data. But should be sufficient
 
-      if(TinkerUtil.hasModifier(TagUtil.getTagSafe(stack), parent.getIdentifier())) {
+      if(TinkerUtil.hasModifier(TagUtil.getTagReadOnly(stack), parent.getIdentifier())) {
         // check if original already had it too
-        if(TinkerUtil.hasModifier(TagUtil.getTagSafe(original), parent.getIdentifier())) {
+        if(TinkerUtil.hasModifier(TagUtil.getTagReadOnly(original), parent.getIdentifier())) {
           // error, can't apply if it already had it
           throw new TinkerGuiException(I18n.translateToLocalFormatted("gui.error.single_modifier",
                                                                       parent.getLocalizedName()));
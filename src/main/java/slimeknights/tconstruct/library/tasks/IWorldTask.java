@@ -0,0 +1,31 @@
+package slimeknights.tconstruct.library.tasks;
+
+/**
+ * A long running job that is executed over several ticks by the {@link TaskScheduler}.
+ * The work is split into small steps, so the scheduler can interleave multiple tasks and stop when the tick budget is used up.
+ */
+public interface IWorldTask {
+
+  /**
+   * Called once at the start of every tick the task gets processed in, before any steps.
+   * Tasks that only do a limited amount of work per tick reset their counters here.
+   */
+  void onTickStart();
+
+  /**
+   * Does a small unit of work.
+   *
+   * @return true if the task wants to do more work this tick
+   */
+  boolean step();
+
+  /**
+   * @return true once the task is done and can be removed
+   */
+  boolean isFinished();
+
+  /**
+   * Called once after the task finished. Tasks of unloaded worlds are discarded without calling this.
+   */
+  void onFinish();
+}
@@ -0,0 +1,200 @@
+package slimeknights.tconstruct.library.tasks;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.utils.TickProfiler;
+
+/**
+ * Runs long running jobs like tree felling or EFLN explosions on the server. There is a single event listener for all
+ * tasks instead of one per task. Each world has its own queue and every tick the tasks of a world get a limited amount
+ * of time, configured in microseconds. The time is shared round-robin between all tasks of the world, but every task
+ * gets to do at least one step per tick so nothing starves.
+ */
+public class TaskScheduler {
+
+  public static final TaskScheduler INSTANCE = new TaskScheduler();
+
+  private static final Logger log = Util.getLogger("Tasks");
+
+  private final Map<World, Deque<IWorldTask>> tasks = Maps.newIdentityHashMap();
+  // tasks scheduled during a tick get added at the start of the next one
+  private final Map<World, List<IWorldTask>> pending = Maps.newIdentityHashMap();
+  // reused every tick
+  private final List<IWorldTask> active = Lists.newArrayList();
+
+  // metrics
+  private long overruns;
+  private long maxOverrunMicros;
+  private long totalSteps;
+
+  private TaskScheduler() {
+  }
+
+  /** Adds a task to the queue of the given world. It starts running on the next world tick. */
+  public static void schedule(World world, IWorldTask task) {
+    if(world.isRemote) {
+      log.warn("Tried to schedule a task on the client: {}", task);
+      return;
+    }
+    List<IWorldTask> list = INSTANCE.pending.get(world);
+    if(list == null) {
+      list = Lists.newArrayList();
+      INSTANCE.pending.put(world, list);
+    }
+    list.add(task);
+  }
+
+  @SubscribeEvent
+  public void onWorldTick(TickEvent.WorldTickEvent event) {
+    if(event.phase != TickEvent.Phase.END || event.side.isClient()) {
+      return;
+    }
+
+    Deque<IWorldTask> queue = getQueue(event.world);
+    if(queue == null) {
+      return;
+    }
+
+    long budget = Config.taskTickBudget * 1000L;
+    long start = System.nanoTime();
+    long deadline = start + budget;
+
+    // rotate the queue so a different task goes first every tick
+    queue.addLast(queue.pollFirst());
+
+    active.clear();
+    for(IWorldTask task : queue) {
+      task.onTickStart();
+      active.add(task);
+    }
+
+    // distribute the steps evenly. The first round always runs completely
+    boolean firstRound = true;
+    while(!active.isEmpty()) {
+      Iterator<IWorldTask> iter = active.iterator();
+      while(iter.hasNext()) {
+        if(!firstRound && System.nanoTime() >= deadline) {
+          break;
+        }
+        IWorldTask task = iter.next();
+        totalSteps++;
+        long stepStart = TickProfiler.start();
+        boolean more = task.step();
+        TickProfiler.endTask(event.world, task, stepStart);
+        if(!more || task.isFinished()) {
+          iter.remove();
+        }
+      }
+      firstRound = false;
+      if(System.nanoTime() >= deadline) {
+        break;
+      }
+    }
+    active.clear();
+
+    // clean up finished tasks
+    Iterator<IWorldTask> iter = queue.iterator();
+    while(iter.hasNext()) {
+      IWorldTask task = iter.next();
+      if(task.isFinished()) {
+        iter.remove();
+        task.onFinish();
+      }
+    }
+    if(queue.isEmpty()) {
+      tasks.remove(event.world);
+    }
+
+    long time = System.nanoTime() - start;
+    if(time > budget) {
+      overruns++;
+      maxOverrunMicros = Math.max(maxOverrunMicros, (time - budget) / 1000L);
+    }
+  }
+
+  private Deque<IWorldTask> getQueue(World world) {
+    Deque<IWorldTask> queue = tasks.get(world);
+    List<IWorldTask> newTasks = pending.remove(world);
+    if(newTasks != null) {
+      if(queue == null) {
+        queue = new ArrayDeque<IWorldTask>(newTasks.size());
+        tasks.put(world, queue);
+      }
+      queue.addAll(newTasks);
+    }
+
+    if(queue == null || queue.isEmpty()) {
+      return null;
+    }
+    return queue;
+  }
+
+  @SubscribeEvent
+  public void onWorldUnload(WorldEvent.Unload event) {
+    Deque<IWorldTask> queue = tasks.remove(event.getWorld());
+    List<IWorldTask> newTasks = pending.remove(event.getWorld());
+    int discarded = (queue != null ? queue.size() : 0) + (newTasks != null ? newTasks.size() : 0);
+    if(discarded > 0) {
+      log.debug("Discarded {} unfinished tasks of unloaded world {}", discarded, event.getWorld().provider.getDimension());
+    }
+  }
+
+  /* Metrics */
+
+  /** Number of tasks queued for the given world, including ones that haven't started yet */
+  public static int getQueueDepth(World world) {
+    Deque<IWorldTask> queue = INSTANCE.tasks.get(world);
+    List<IWorldTask> newTasks = INSTANCE.pending.get(world);
+    return (queue != null ? queue.size() : 0) + (newTasks != null ? newTasks.size() : 0);
+  }
+
+  /** Number of tasks queued in all worlds */
+  public static int getTotalQueueDepth() {
+    int depth = 0;
+    for(Deque<IWorldTask> queue : INSTANCE.tasks.values()) {
+      depth += queue.size();
+    }
+    for(List<IWorldTask> newTasks : INSTANCE.pending.values()) {
+      depth += newTasks.size();
+    }
+    return depth;
+  }
+
+  /** How many world ticks took longer than the configured budget */
+  public static long getOverruns() {
+    return INSTANCE.overruns;
+  }
+
+  /** The largest amount of microseconds a tick went over the budget */
+  public static long getMaxOverrunMicros() {
+    return INSTANCE.maxOverrunMicros;
+  }
+
+  /** Total amount of task steps executed */
+  public static long getTotalSteps() {
+    return INSTANCE.totalSteps;
+  }
+
+  /** Starts counting steps and overruns from 0, together with the tick profiler */
+  public static void resetMetrics() {
+    INSTANCE.overruns = 0;
+    INSTANCE.maxOverrunMicros = 0;
+    INSTANCE.totalSteps = 0;
+  }
+}
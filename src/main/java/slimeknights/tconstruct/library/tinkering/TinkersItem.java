@@ -198,7 +198,7 @@ public abstract class TinkersItem extends Item implements ITinkerable, IModifyab
     modifierList.appendTag(new NBTTagString());
     modifierList.removeTag(0);
 
-    base.setTag(Tags.BASE_MATERIALS, materialList);
+    TagUtil.writeIdentifierList(base, Tags.BASE_MATERIALS, materialList, TinkerRegistry.getMaterialPalette());
     base.setTag(Tags.BASE_MODIFIERS, modifierList);
 
     return base;
@@ -276,7 +276,7 @@ public abstract class TinkersItem extends Item implements ITinkerable, IModifyab
     }
 
     // we assume the first required part exclusively determines repair material
-    List<Material> materials = TinkerUtil.getMaterialsFromTagList(TagUtil.getBaseMaterialsTagList(repairable));
+    List<Material> materials = TinkerUtil.getMaterials(repairable);
     if(materials.isEmpty()) {
       return null;
     }
@@ -48,6 +48,7 @@ import slimeknights.tconstruct.library.tinkering.PartMaterialType;
 import slimeknights.tconstruct.library.tinkering.TinkersItem;
 import slimeknights.tconstruct.library.traits.ITrait;
 import slimeknights.tconstruct.library.utils.TagUtil;
+import slimeknights.tconstruct.library.utils.Tags;
 import slimeknights.tconstruct.library.utils.TinkerUtil;
 import slimeknights.tconstruct.library.utils.ToolHelper;
 import slimeknights.tconstruct.library.utils.TooltipBuilder;
@@ -268,7 +269,7 @@ public abstract class ToolCore extends TinkersItem {
 
   @Override
   public void getTooltipComponents(ItemStack stack, List<String> tooltips) {
-    List<Material> materials = TinkerUtil.getMaterialsFromTagList(TagUtil.getBaseMaterialsTagList(stack));
+    List<Material> materials = TinkerUtil.getMaterials(stack);
     List<PartMaterialType> component = getRequiredComponents();
 
     if(materials.size() < component.size()) {
@@ -326,7 +327,7 @@ public abstract class ToolCore extends TinkersItem {
   @Override
   public String getItemStackDisplayName(@Nonnull ItemStack stack) {
     // if the tool is not named we use the repair tools for a prefix like thing
-    List<Material> materials = TinkerUtil.getMaterialsFromTagList(TagUtil.getBaseMaterialsTagList(stack));
+    List<Material> materials = TinkerUtil.getMaterials(stack);
     // we save all the ones for the name in a set so we don't have the same material in it twice
     Set<Material> nameMaterials = Sets.newLinkedHashSet();
 
@@ -465,11 +466,22 @@ public abstract class ToolCore extends TinkersItem {
   public void onUpdate(ItemStack stack, World worldIn, Entity entityIn, int itemSlot, boolean isSelected) {
     super.onUpdate(stack, worldIn, entityIn, itemSlot, isSelected);
 
-    NBTTagList list = TagUtil.getTraitsTagList(stack);
-    for(int i = 0; i < list.tagCount(); i++) {
-      ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-      if(trait != null) {
-        trait.onUpdate(stack, worldIn, entityIn, itemSlot, isSelected);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(stack), Tags.TOOL_TRAITS);
+    if(ids != null) {
+      for(int id : ids) {
+        ITrait trait = TinkerRegistry.getTrait(id);
+        if(trait != null) {
+          trait.onUpdate(stack, worldIn, entityIn, itemSlot, isSelected);
+        }
+      }
+    }
+    else {
+      NBTTagList list = TagUtil.getTraitsTagListReadOnly(stack);
+      for(int i = 0; i < list.tagCount(); i++) {
+        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+        if(trait != null) {
+          trait.onUpdate(stack, worldIn, entityIn, itemSlot, isSelected);
+        }
       }
     }
   }
@@ -489,11 +501,22 @@ public abstract class ToolCore extends TinkersItem {
   }
 
   public void afterBlockBreak(ItemStack stack, World world, IBlockState state, BlockPos pos, EntityLivingBase player, int damage, boolean wasEffective) {
-    NBTTagList list = TagUtil.getTraitsTagList(stack);
-    for(int i = 0; i < list.tagCount(); i++) {
-      ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-      if(trait != null) {
-        trait.afterBlockBreak(stack, world, state, pos, player, wasEffective);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(stack), Tags.TOOL_TRAITS);
+    if(ids != null) {
+      for(int id : ids) {
+        ITrait trait = TinkerRegistry.getTrait(id);
+        if(trait != null) {
+          trait.afterBlockBreak(stack, world, state, pos, player, wasEffective);
+        }
+      }
+    }
+    else {
+      NBTTagList list = TagUtil.getTraitsTagListReadOnly(stack);
+      for(int i = 0; i < list.tagCount(); i++) {
+        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+        if(trait != null) {
+          trait.afterBlockBreak(stack, world, state, pos, player, wasEffective);
+        }
       }
     }
 
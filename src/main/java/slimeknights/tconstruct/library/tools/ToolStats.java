@@ -0,0 +1,89 @@
+package slimeknights.tconstruct.library.tools;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.concurrent.ConcurrentMap;
+
+import slimeknights.tconstruct.library.utils.Tags;
+
+/**
+ * Immutable snapshot of the stats saved in the tool data of a tool.
+ * The stat getters of ToolHelper get called several times per block break and attack, reading the NBT each time
+ * means looking up the tool tag and then the key, so the stats are read once and cached per NBT compound of the stack.
+ * <br>
+ * Each snapshot keeps a copy of the tool data it was read from and is only reused while the tool data of the stack
+ * is still equal to it, so changing the tool data in place, with or without TagUtil, can't leave an outdated snapshot.
+ * Writing the tool data of one tool never affects the snapshots of other tools.
+ */
+public final class ToolStats {
+
+  /** Stats of a stack without tool data, everything is 0 like reading from an empty tag */
+  public static final ToolStats EMPTY = new ToolStats(null, 0, 0, 0f, 0f, 0f, 0, false);
+
+  // weak keys use identity comparison, and the NBT compound is gone with the stack
+  private static final ConcurrentMap<NBTTagCompound, ToolStats> cache = new MapMaker().weakKeys().makeMap();
+
+  // copy of the tool data the stats were read from, if the tool data differs from it the snapshot is outdated
+  private final NBTTagCompound source;
+
+  public final int durability;
+  public final int harvestLevel;
+  public final float attack;
+  public final float speed; // mining speed
+  public final float attackSpeedMultiplier;
+  public final int freeModifiers;
+  public final boolean broken;
+
+  private ToolStats(NBTTagCompound source, int durability, int harvestLevel, float attack, float speed, float attackSpeedMultiplier, int freeModifiers, boolean broken) {
+    this.source = source;
+    this.durability = durability;
+    this.harvestLevel = harvestLevel;
+    this.attack = attack;
+    this.speed = speed;
+    this.attackSpeedMultiplier = attackSpeedMultiplier;
+    this.freeModifiers = freeModifiers;
+    this.broken = broken;
+  }
+
+  public static ToolStats get(ItemStack stack) {
+    if(stack == null || stack.getItem() == null || !stack.hasTagCompound()) {
+      return EMPTY;
+    }
+    return get(stack.getTagCompound());
+  }
+
+  public static ToolStats get(NBTTagCompound root) {
+    if(root == null) {
+      return EMPTY;
+    }
+
+    NBTBase tag = root.getTag(Tags.TOOL_DATA);
+    if(!(tag instanceof NBTTagCompound)) {
+      return EMPTY;
+    }
+
+    ToolStats stats = cache.get(root);
+    if(stats != null && stats.source.equals(tag)) {
+      return stats;
+    }
+
+    stats = read((NBTTagCompound) tag);
+    cache.put(root, stats);
+    return stats;
+  }
+
+  private static ToolStats read(NBTTagCompound tag) {
+    return new ToolStats(tag.copy(),
+                         tag.getInteger(Tags.DURABILITY),
+                         tag.getInteger(Tags.HARVESTLEVEL),
+                         tag.getFloat(Tags.ATTACK),
+                         tag.getFloat(Tags.MININGSPEED),
+                         tag.getFloat(Tags.ATTACKSPEEDMULTIPLIER),
+                         tag.getInteger(Tags.FREE_MODIFIERS),
+                         tag.getBoolean(Tags.BROKEN));
+  }
+}
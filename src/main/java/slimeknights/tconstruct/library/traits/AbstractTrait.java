@@ -148,7 +148,7 @@ public abstract class AbstractTrait extends Modifier implements ITrait {
   @Override
   public boolean canApplyCustom(ItemStack stack) {
     // can only apply if the trait isn't present already
-    NBTTagList tagList = TagUtil.getTraitsTagList(stack);
+    NBTTagList tagList = TagUtil.getTraitsTagListReadOnly(stack);
     int index = TinkerUtil.getIndexInList(tagList, this.getIdentifier());
 
     // not present yet
@@ -0,0 +1,135 @@
+package slimeknights.tconstruct.library.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Assigns numeric ids to the identifiers of a registry, so tools can refer to materials, traits and modifiers by
+ * array index instead of by string.
+ * <br>
+ * The ids are given out in registration order, but a loaded order takes precedence: the server loads the order saved
+ * with the world so ids stay the same between restarts, and clients load the order of the server they join.
+ * Identifiers of a loaded order that aren't registered keep their id, but resolve to null.
+ */
+public class IdentifierPalette<T> {
+
+  private final String name;
+  private final Map<String, T> registered = Maps.newLinkedHashMap();
+  private List<String> loadedOrder = ImmutableList.of();
+  private volatile boolean loaded;
+
+  // rebuilt lazily after changes, replaced as a whole so readers never see a half built palette
+  private volatile State<T> state;
+
+  public IdentifierPalette(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized void register(String identifier, T value) {
+    registered.put(identifier, value);
+    state = null;
+  }
+
+  /** Makes the given identifiers take the ids 0 to n-1, registered identifiers not in the list follow after them */
+  public synchronized void load(List<String> order) {
+    loadedOrder = ImmutableList.copyOf(order);
+    loaded = true;
+    state = null;
+  }
+
+  /**
+   * Before the order of a world or server is loaded the ids are only valid for this session,
+   * so they must not end up in any saved data.
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /** @return The id of the identifier, -1 if it is unknown */
+  public int getId(String identifier) {
+    return getState().ids.get(identifier);
+  }
+
+  @Nullable
+  public String getIdentifier(int id) {
+    State<T> current = getState();
+    if(id < 0 || id >= current.identifiers.length) {
+      return null;
+    }
+    return current.identifiers[id];
+  }
+
+  @Nullable
+  public T get(int id) {
+    State<T> current = getState();
+    if(id < 0 || id >= current.values.size()) {
+      return null;
+    }
+    return current.values.get(id);
+  }
+
+  /** @return All identifiers, ordered by id */
+  public List<String> getIdentifiers() {
+    return ImmutableList.copyOf(getState().identifiers);
+  }
+
+  public int size() {
+    return getState().identifiers.length;
+  }
+
+  private State<T> getState() {
+    State<T> current = state;
+    if(current == null) {
+      synchronized(this) {
+        current = state;
+        if(current == null) {
+          current = new State<T>(loadedOrder, registered);
+          state = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static class State<T> {
+
+    final String[] identifiers;
+    final List<T> values;
+    final TObjectIntHashMap<String> ids;
+
+    State(List<String> order, Map<String, T> registered) {
+      List<String> all = Lists.newArrayList(order);
+      ids = new TObjectIntHashMap<String>(order.size() + registered.size(), 0.5f, -1);
+      for(int i = 0; i < all.size(); i++) {
+        // a duplicate keeps its slot so the following ids don't shift, but resolves to the first one
+        if(!ids.containsKey(all.get(i))) {
+          ids.put(all.get(i), i);
+        }
+      }
+      for(String identifier : registered.keySet()) {
+        if(!ids.containsKey(identifier)) {
+          ids.put(identifier, all.size());
+          all.add(identifier);
+        }
+      }
+
+      identifiers = all.toArray(new String[all.size()]);
+      values = Lists.newArrayListWithCapacity(identifiers.length);
+      for(String identifier : identifiers) {
+        values.add(registered.get(identifier));
+      }
+    }
+  }
+}
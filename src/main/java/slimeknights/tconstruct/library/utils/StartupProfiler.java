@@ -0,0 +1,249 @@
+package slimeknights.tconstruct.library.utils;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLStateEvent;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import slimeknights.tconstruct.TConstruct;
+import slimeknights.tconstruct.library.TinkerRegistry;
+import slimeknights.tconstruct.library.Util;
+
+/**
+ * Measures the wall time and, where the JVM supports it, the allocated bytes of the loading phases of each pulse.
+ * At the end of loading the times and the sizes of the registries get logged and written to
+ * logs/tconstruct-startup.json, so the startup of different versions and packs can be compared.
+ * <br>
+ * Instrumented code looks like this:
+ * <pre>
+ *   StartupProfiler.begin(PulseId, event);
+ *   doWork();
+ *   StartupProfiler.end();
+ * </pre>
+ * Sections may be nested, the time of a nested section is also part of the time of the outer one.
+ * Loading only happens on the main thread, so no synchronization is needed.
+ */
+public class StartupProfiler {
+
+  private static final Logger log = Util.getLogger("Startup");
+  private static final String REPORT_FILE = "logs/tconstruct-startup.json";
+
+  private static final List<Section> sections = Lists.newArrayList();
+  private static final Deque<Section> open = Lists.newLinkedList();
+  private static final com.sun.management.ThreadMXBean allocationBean = findAllocationBean();
+
+  private static boolean reported;
+
+  private StartupProfiler() {
+  }
+
+  public static class Section {
+
+    public final String name;
+    public final String phase;
+    public final int depth;
+    public long nanos;
+    public long allocatedBytes = -1; // -1 if the JVM doesn't count allocations
+
+    private final long startNanos;
+    private final long startAllocated;
+
+    Section(String name, String phase, int depth) {
+      this.name = name;
+      this.phase = phase;
+      this.depth = depth;
+      this.startAllocated = getAllocatedBytes();
+      // last, so getting the allocations isn't part of the time
+      this.startNanos = System.nanoTime();
+    }
+
+    void end() {
+      nanos = System.nanoTime() - startNanos;
+      if(startAllocated >= 0) {
+        allocatedBytes = getAllocatedBytes() - startAllocated;
+      }
+    }
+  }
+
+  public static void begin(String name, FMLStateEvent event) {
+    begin(name, getPhase(event));
+  }
+
+  public static void begin(String name, String phase) {
+    open.push(new Section(name, phase, open.size()));
+  }
+
+  /** Ends the most recently started section */
+  public static void end() {
+    Section section = open.poll();
+    if(section == null) {
+      log.warn("Ended a startup section that was never started");
+      return;
+    }
+    section.end();
+    sections.add(section);
+  }
+
+  public static List<Section> getSections() {
+    return sections;
+  }
+
+  /** Sections that end after this, like the client texture creation, need to report again to be included */
+  public static boolean isReported() {
+    return reported;
+  }
+
+  /** The sizes of the registries at this point, in a fixed order */
+  public static Map<String, Integer> getRegistrySizes() {
+    Map<String, Integer> sizes = Maps.newLinkedHashMap();
+    sizes.put("materials", TinkerRegistry.getAllMaterials().size());
+    sizes.put("traits", TinkerRegistry.getTraitPalette().size());
+    sizes.put("modifiers", TinkerRegistry.getModifierPalette().size());
+    sizes.put("tools", TinkerRegistry.getTools().size());
+    sizes.put("toolParts", TinkerRegistry.getToolParts().size());
+    sizes.put("melting", TinkerRegistry.getMeltingRecipeView().size());
+    sizes.put("tableCasting", TinkerRegistry.getTableCastingView().size());
+    sizes.put("basinCasting", TinkerRegistry.getBasinCastingView().size());
+    sizes.put("alloys", TinkerRegistry.getAlloyView().size());
+    sizes.put("smelteryFuels", TinkerRegistry.getSmelteryFuels().size());
+    sizes.put("drying", TinkerRegistry.getDryingRecipeView().size());
+    return sizes;
+  }
+
+  /** Logs the summary and, if enabled, writes the report file */
+  public static void report(boolean writeFile) {
+    reported = true;
+    Map<String, Integer> sizes = getRegistrySizes();
+
+    Map<String, Long> phaseNanos = Maps.newLinkedHashMap();
+    for(Section section : sections) {
+      // nested sections are already part of their outer section
+      if(section.depth == 0) {
+        Long nanos = phaseNanos.get(section.phase);
+        phaseNanos.put(section.phase, (nanos == null ? 0 : nanos) + section.nanos);
+      }
+    }
+    for(Map.Entry<String, Long> entry : phaseNanos.entrySet()) {
+      log.info("{} took {} ms", entry.getKey(), toMillis(entry.getValue()));
+    }
+    log.info("Registry sizes: {}", sizes);
+
+    if(!writeFile) {
+      return;
+    }
+
+    File file = new File(REPORT_FILE);
+    file.getParentFile().mkdirs();
+    Writer writer = null;
+    try {
+      writer = new FileWriter(file);
+      Gson gson = new GsonBuilder().setPrettyPrinting().create();
+      gson.toJson(buildReport(sizes, phaseNanos), writer);
+      log.info("Wrote startup report to {}", file.getAbsolutePath());
+    } catch(IOException e) {
+      log.error("Could not write the startup report", e);
+    } finally {
+      if(writer != null) {
+        try {
+          writer.close();
+        } catch(IOException e) {
+          // nothing we can do
+        }
+      }
+    }
+  }
+
+  private static JsonObject buildReport(Map<String, Integer> sizes, Map<String, Long> phaseNanos) {
+    JsonObject report = new JsonObject();
+    report.addProperty("version", TConstruct.modVersion);
+    report.addProperty("time", System.currentTimeMillis());
+    report.addProperty("allocationsCounted", allocationBean != null);
+
+    JsonObject phases = new JsonObject();
+    for(Map.Entry<String, Long> entry : phaseNanos.entrySet()) {
+      phases.addProperty(entry.getKey(), toMillis(entry.getValue()));
+    }
+    report.add("phaseMillis", phases);
+
+    JsonArray sectionArray = new JsonArray();
+    for(Section section : sections) {
+      JsonObject entry = new JsonObject();
+      entry.addProperty("name", section.name);
+      entry.addProperty("phase", section.phase);
+      entry.addProperty("depth", section.depth);
+      entry.addProperty("millis", toMillis(section.nanos));
+      entry.addProperty("allocatedBytes", section.allocatedBytes);
+      sectionArray.add(entry);
+    }
+    report.add("sections", sectionArray);
+
+    JsonObject registries = new JsonObject();
+    for(Map.Entry<String, Integer> entry : sizes.entrySet()) {
+      registries.addProperty(entry.getKey(), entry.getValue());
+    }
+    report.add("registries", registries);
+    return report;
+  }
+
+  private static String getPhase(FMLStateEvent event) {
+    if(event instanceof FMLPreInitializationEvent) {
+      return "preInit";
+    }
+    if(event instanceof FMLInitializationEvent) {
+      return "init";
+    }
+    if(event instanceof FMLPostInitializationEvent) {
+      return "postInit";
+    }
+    return event.getClass().getSimpleName();
+  }
+
+  private static double toMillis(long nanos) {
+    // rounded to microseconds, more isn't meaningful for a single measurement
+    return Math.round(nanos / 1000d) / 1000d;
+  }
+
+  private static long getAllocatedBytes() {
+    if(allocationBean == null) {
+      return -1;
+    }
+    return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean findAllocationBean() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      // only HotSpot based JVMs count the allocations per thread
+      if(bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+        if(hotspotBean.isThreadAllocatedMemorySupported()) {
+          hotspotBean.setThreadAllocatedMemoryEnabled(true);
+          return hotspotBean;
+        }
+      }
+    } catch(Throwable e) {
+      // the class doesn't exist on other JVMs, or the security manager doesn't allow it
+      log.debug("Allocation counting is not available", e);
+    }
+    return null;
+  }
+}
@@ -3,13 +3,20 @@ package slimeknights.tconstruct.library.utils;
 import com.google.common.collect.Sets;
 
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.Set;
+import java.util.UUID;
 
+import javax.annotation.Nullable;
+
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.tinkering.Category;
 import slimeknights.tconstruct.library.tools.ToolNBT;
 
@@ -18,6 +25,10 @@ public final class TagUtil {
   public static int TAG_TYPE_STRING = (new NBTTagString()).getId();
   public static int TAG_TYPE_COMPOUND = (new NBTTagCompound()).getId();
 
+  // shared empty tags returned by the read-only getters
+  private static final NBTTagCompound EMPTY_COMPOUND = new EmptyCompound();
+  private static final NBTTagList EMPTY_LIST = new EmptyList();
+
   private TagUtil() {
   }
 
@@ -31,19 +42,82 @@ public final class TagUtil {
   }
 
   public static NBTTagCompound getTagSafe(NBTTagCompound tag, String key) {
-    if(tag == null || !tag.hasKey(key)) {
+    NBTTagCompound out = getCompound(tag, key);
+    if(out == null) {
       return new NBTTagCompound();
     }
 
-    return tag.getCompoundTag(key);
+    return out;
   }
 
   public static NBTTagList getTagListSafe(NBTTagCompound tag, String key, int type) {
-    if(tag == null || !tag.hasKey(key)) {
+    NBTTagList out = getList(tag, key, type);
+    if(out == null) {
       return new NBTTagList();
     }
 
-    return tag.getTagList(key, type);
+    return out;
+  }
+
+  /* Read-only variants, these return a shared empty tag if the data is missing and must not be modified */
+
+  public static NBTTagCompound getTagReadOnly(ItemStack stack) {
+    if(stack == null || stack.getItem() == null || !stack.hasTagCompound()) {
+      return EMPTY_COMPOUND;
+    }
+
+    return stack.getTagCompound();
+  }
+
+  public static NBTTagCompound getTagReadOnly(NBTTagCompound tag, String key) {
+    NBTTagCompound out = getCompound(tag, key);
+    if(out == null) {
+      return EMPTY_COMPOUND;
+    }
+
+    return out;
+  }
+
+  public static NBTTagList getTagListReadOnly(NBTTagCompound tag, String key, int type) {
+    NBTTagList out = getList(tag, key, type);
+    if(out == null) {
+      return EMPTY_LIST;
+    }
+
+    return out;
+  }
+
+  // single map lookup instead of hasKey + get
+  private static NBTTagCompound getCompound(NBTTagCompound tag, String key) {
+    if(tag == null) {
+      return null;
+    }
+
+    NBTBase nbt = tag.getTag(key);
+    if(nbt instanceof NBTTagCompound) {
+      return (NBTTagCompound) nbt;
+    }
+
+    return null;
+  }
+
+  private static NBTTagList getList(NBTTagCompound tag, String key, int type) {
+    if(tag == null) {
+      return null;
+    }
+
+    NBTBase nbt = tag.getTag(key);
+    if(!(nbt instanceof NBTTagList)) {
+      return null;
+    }
+
+    // same as NBTTagCompound.getTagList, a list of the wrong type counts as missing
+    NBTTagList list = (NBTTagList) nbt;
+    if(list.tagCount() > 0 && list.getTagType() != type) {
+      return null;
+    }
+
+    return list;
   }
 
 
@@ -56,6 +130,10 @@ public final class TagUtil {
     return getTagSafe(root, Tags.BASE_DATA);
   }
 
+  public static NBTTagCompound getBaseTagReadOnly(NBTTagCompound root) {
+    return getTagReadOnly(root, Tags.BASE_DATA);
+  }
+
   public static void setBaseTag(ItemStack stack, NBTTagCompound tag) {
     NBTTagCompound root = TagUtil.getTagSafe(stack);
     setBaseTag(root, tag);
@@ -75,7 +153,15 @@ public final class TagUtil {
   }
 
   public static NBTTagList getBaseModifiersTagList(NBTTagCompound root) {
-    return getTagListSafe(getBaseTag(root), Tags.BASE_MODIFIERS, TAG_TYPE_STRING);
+    return readIdentifierList(getBaseTag(root), Tags.BASE_MODIFIERS, TinkerRegistry.getModifierPalette(), false);
+  }
+
+  public static NBTTagList getBaseModifiersTagListReadOnly(ItemStack stack) {
+    return getBaseModifiersTagListReadOnly(getTagReadOnly(stack));
+  }
+
+  public static NBTTagList getBaseModifiersTagListReadOnly(NBTTagCompound root) {
+    return readIdentifierList(getBaseTagReadOnly(root), Tags.BASE_MODIFIERS, TinkerRegistry.getModifierPalette(), true);
   }
 
   public static void setBaseModifiersTagList(ItemStack stack, NBTTagList tagList) {
@@ -86,7 +172,7 @@ public final class TagUtil {
   }
 
   public static void setBaseModifiersTagList(NBTTagCompound root, NBTTagList tagList) {
-    getBaseTag(root).setTag(Tags.BASE_MODIFIERS, tagList);
+    writeIdentifierList(getBaseTag(root), Tags.BASE_MODIFIERS, tagList, TinkerRegistry.getModifierPalette());
   }
 
   public static NBTTagList getBaseMaterialsTagList(ItemStack stack) {
@@ -94,7 +180,15 @@ public final class TagUtil {
   }
 
   public static NBTTagList getBaseMaterialsTagList(NBTTagCompound root) {
-    return getTagListSafe(getBaseTag(root), Tags.BASE_MATERIALS, TAG_TYPE_STRING);
+    return readIdentifierList(getBaseTag(root), Tags.BASE_MATERIALS, TinkerRegistry.getMaterialPalette(), false);
+  }
+
+  public static NBTTagList getBaseMaterialsTagListReadOnly(ItemStack stack) {
+    return getBaseMaterialsTagListReadOnly(getTagReadOnly(stack));
+  }
+
+  public static NBTTagList getBaseMaterialsTagListReadOnly(NBTTagCompound root) {
+    return readIdentifierList(getBaseTagReadOnly(root), Tags.BASE_MATERIALS, TinkerRegistry.getMaterialPalette(), true);
   }
 
   public static void setBaseMaterialsTagList(ItemStack stack, NBTTagList tagList) {
@@ -105,7 +199,7 @@ public final class TagUtil {
   }
 
   public static void setBaseMaterialsTagList(NBTTagCompound root, NBTTagList tagList) {
-    getBaseTag(root).setTag(Tags.BASE_MATERIALS, tagList);
+    writeIdentifierList(getBaseTag(root), Tags.BASE_MATERIALS, tagList, TinkerRegistry.getMaterialPalette());
   }
 
   public static int getBaseModifiersUsed(NBTTagCompound root) {
@@ -125,6 +219,14 @@ public final class TagUtil {
     return getTagSafe(root, Tags.TOOL_DATA);
   }
 
+  public static NBTTagCompound getToolTagReadOnly(ItemStack stack) {
+    return getToolTagReadOnly(getTagReadOnly(stack));
+  }
+
+  public static NBTTagCompound getToolTagReadOnly(NBTTagCompound root) {
+    return getTagReadOnly(root, Tags.TOOL_DATA);
+  }
+
   public static void setToolTag(ItemStack stack, NBTTagCompound tag) {
     NBTTagCompound root = TagUtil.getTagSafe(stack);
     setToolTag(root, tag);
@@ -148,6 +250,14 @@ public final class TagUtil {
     return getTagListSafe(root, Tags.TOOL_MODIFIERS, TAG_TYPE_COMPOUND);
   }
 
+  public static NBTTagList getModifiersTagListReadOnly(ItemStack stack) {
+    return getModifiersTagListReadOnly(getTagReadOnly(stack));
+  }
+
+  public static NBTTagList getModifiersTagListReadOnly(NBTTagCompound root) {
+    return getTagListReadOnly(root, Tags.TOOL_MODIFIERS, TAG_TYPE_COMPOUND);
+  }
+
   public static void setModifiersTagList(ItemStack stack, NBTTagList tagList) {
     NBTTagCompound root = TagUtil.getTagSafe(stack);
     setModifiersTagList(root, tagList);
@@ -167,7 +277,15 @@ public final class TagUtil {
   }
 
   public static NBTTagList getTraitsTagList(NBTTagCompound root) {
-    return getTagListSafe(root, Tags.TOOL_TRAITS, TAG_TYPE_STRING);
+    return readIdentifierList(root, Tags.TOOL_TRAITS, TinkerRegistry.getTraitPalette(), false);
+  }
+
+  public static NBTTagList getTraitsTagListReadOnly(ItemStack stack) {
+    return getTraitsTagListReadOnly(getTagReadOnly(stack));
+  }
+
+  public static NBTTagList getTraitsTagListReadOnly(NBTTagCompound root) {
+    return readIdentifierList(root, Tags.TOOL_TRAITS, TinkerRegistry.getTraitPalette(), true);
   }
 
   public static void setTraitsTagList(ItemStack stack, NBTTagList tagList) {
@@ -179,8 +297,66 @@ public final class TagUtil {
 
   public static void setTraitsTagList(NBTTagCompound root, NBTTagList tagList) {
     if(root != null) {
-      root.setTag(Tags.TOOL_TRAITS, tagList);
+      writeIdentifierList(root, Tags.TOOL_TRAITS, tagList, TinkerRegistry.getTraitPalette());
+    }
+  }
+
+  /* Identifier lists, saved either as a list of strings or compact as an int array of palette ids */
+
+  /**
+   * Reads a list of identifiers in either format. The compact format is expanded into a new string list, so the result
+   * can always be modified and written back with {@link #writeIdentifierList}.
+   */
+  public static NBTTagList readIdentifierList(NBTTagCompound tag, String key, IdentifierPalette<?> palette, boolean readOnly) {
+    int[] ids = getIdentifierIds(tag, key);
+    if(ids == null) {
+      return readOnly ? getTagListReadOnly(tag, key, TAG_TYPE_STRING) : getTagListSafe(tag, key, TAG_TYPE_STRING);
+    }
+
+    NBTTagList list = new NBTTagList();
+    for(int id : ids) {
+      String identifier = palette.getIdentifier(id);
+      list.appendTag(new NBTTagString(identifier != null ? identifier : ""));
+    }
+    return list;
+  }
+
+  /** @return The palette ids if the list is saved in the compact format, null otherwise */
+  @Nullable
+  public static int[] getIdentifierIds(NBTTagCompound tag, String key) {
+    if(tag == null) {
+      return null;
+    }
+
+    NBTBase nbt = tag.getTag(key);
+    if(nbt instanceof NBTTagIntArray) {
+      return ((NBTTagIntArray) nbt).getIntArray();
+    }
+    return null;
+  }
+
+  /**
+   * Saves the list of identifiers, in the compact format if it is enabled, the ids of the world are known and all
+   * identifiers have an id
+   */
+  public static void writeIdentifierList(NBTTagCompound tag, String key, NBTTagList list, IdentifierPalette<?> palette) {
+    if(Config.compactToolNBT && palette.isLoaded() && list.tagCount() > 0 && list.getTagType() == TAG_TYPE_STRING) {
+      int[] ids = new int[list.tagCount()];
+      for(int i = 0; i < ids.length; i++) {
+        ids[i] = palette.getId(list.getStringTagAt(i));
+        if(ids[i] < 0) {
+          // unknown identifiers can only be saved by name
+          ids = null;
+          break;
+        }
+      }
+      if(ids != null) {
+        tag.setIntArray(key, ids);
+        return;
+      }
     }
+
+    tag.setTag(key, list);
   }
 
   /* Tool stats */
@@ -384,4 +560,92 @@ public final class TagUtil {
 
     return total / (float) count;
   }
+
+  /** Empty compound that can't be modified, so it can be shared by all read-only getters */
+  private static class EmptyCompound extends NBTTagCompound {
+
+    @Override
+    public void setTag(String key, NBTBase value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setByte(String key, byte value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setShort(String key, short value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setInteger(String key, int value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setLong(String key, long value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setUniqueId(String key, UUID value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setFloat(String key, float value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setDouble(String key, double value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setString(String key, String value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setByteArray(String key, byte[] value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setIntArray(String key, int[] value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void setBoolean(String key, boolean value) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void removeTag(String key) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+  }
+
+  /** Empty list that can't be modified, so it can be shared by all read-only getters */
+  private static class EmptyList extends NBTTagList {
+
+    @Override
+    public void appendTag(NBTBase nbt) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public void set(int idx, NBTBase nbt) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+
+    @Override
+    public NBTBase removeTag(int i) {
+      throw new UnsupportedOperationException("Read-only tag");
+    }
+  }
 }
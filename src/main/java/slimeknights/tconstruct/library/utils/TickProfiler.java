@@ -0,0 +1,240 @@
+package slimeknights.tconstruct.library.utils;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import slimeknights.tconstruct.common.config.Config;
+import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.tasks.IWorldTask;
+
+/**
+ * Measures how much server time the tile entities and tasks of Tinkers take, without an external profiler.
+ * Times are collected per dimension and per tile entity class or task type, tile entities additionally per position
+ * to find single expensive ones like a runaway smeltery.
+ * <br>
+ * Measuring is off unless enabled in the config or with the perf command. Instrumented code looks like this:
+ * <pre>
+ *   long start = TickProfiler.start();
+ *   doWork();
+ *   TickProfiler.endTile(this, start);
+ * </pre>
+ * Everything only runs on the server thread, so no synchronization is needed.
+ */
+public class TickProfiler {
+
+  public static final TickProfiler INSTANCE = new TickProfiler();
+
+  private static final Logger log = Util.getLogger("Profiler");
+
+  private static boolean enabled;
+
+  // dimension -> type -> stats
+  private final TIntObjectHashMap<Map<String, Stats>> dimensions = new TIntObjectHashMap<Map<String, Stats>>();
+  // dimension -> position -> stats
+  private final TIntObjectHashMap<TLongObjectHashMap<PositionStats>> positions = new TIntObjectHashMap<TLongObjectHashMap<PositionStats>>();
+
+  private long startTime = System.currentTimeMillis();
+  private int ticks;
+
+  private TickProfiler() {
+  }
+
+  public static class Stats {
+
+    public final String name;
+    public long calls;
+    public long nanos;
+    public long maxNanos;
+
+    Stats(String name) {
+      this.name = name;
+    }
+
+    void add(long time) {
+      calls++;
+      nanos += time;
+      if(time > maxNanos) {
+        maxNanos = time;
+      }
+    }
+  }
+
+  public static class PositionStats extends Stats {
+
+    public final int dimension;
+    public final BlockPos pos;
+
+    PositionStats(String name, int dimension, BlockPos pos) {
+      super(name);
+      this.dimension = dimension;
+      this.pos = pos;
+    }
+  }
+
+  private static final Comparator<Stats> MOST_EXPENSIVE = new Comparator<Stats>() {
+    @Override
+    public int compare(Stats o1, Stats o2) {
+      return Long.compare(o2.nanos, o1.nanos);
+    }
+  };
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Turns measuring on or off. Collected data is kept until {@link #reset()} */
+  public static void setEnabled(boolean enabled) {
+    TickProfiler.enabled = enabled;
+  }
+
+  /** @return The start time to pass to the end methods, 0 if measuring is off */
+  public static long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /** Records the time since start for the tile entity. Does nothing if start was 0 or on the client. */
+  public static void endTile(TileEntity te, long start) {
+    if(start == 0L || te.getWorld() == null || te.getWorld().isRemote) {
+      return;
+    }
+    long time = System.nanoTime() - start;
+    int dimension = te.getWorld().provider.getDimension();
+    String name = te.getClass().getSimpleName();
+
+    INSTANCE.getStats(dimension, name).add(time);
+    INSTANCE.getPositionStats(dimension, name, te.getPos()).add(time);
+  }
+
+  /** Records the time since start for a step of the task. Does nothing if start was 0. */
+  public static void endTask(World world, IWorldTask task, long start) {
+    if(start == 0L) {
+      return;
+    }
+    long time = System.nanoTime() - start;
+    INSTANCE.getStats(world.provider.getDimension(), task.getClass().getSimpleName()).add(time);
+  }
+
+  private Stats getStats(int dimension, String name) {
+    Map<String, Stats> types = dimensions.get(dimension);
+    if(types == null) {
+      types = Maps.newHashMap();
+      dimensions.put(dimension, types);
+    }
+    Stats stats = types.get(name);
+    if(stats == null) {
+      stats = new Stats(name);
+      types.put(name, stats);
+    }
+    return stats;
+  }
+
+  private PositionStats getPositionStats(int dimension, String name, BlockPos pos) {
+    TLongObjectHashMap<PositionStats> map = positions.get(dimension);
+    if(map == null) {
+      map = new TLongObjectHashMap<PositionStats>();
+      positions.put(dimension, map);
+    }
+    long key = pos.toLong();
+    PositionStats stats = map.get(key);
+    // a different tile entity could be at the same position by now
+    if(stats == null || !stats.name.equals(name)) {
+      stats = new PositionStats(name, dimension, pos);
+      map.put(key, stats);
+    }
+    return stats;
+  }
+
+  /** Clears all collected data */
+  public static void reset() {
+    INSTANCE.dimensions.clear();
+    INSTANCE.positions.clear();
+    INSTANCE.startTime = System.currentTimeMillis();
+    INSTANCE.ticks = 0;
+  }
+
+  /** @return The collected data per type of the dimension, most expensive first */
+  public static List<Stats> getStats(int dimension) {
+    Map<String, Stats> types = INSTANCE.dimensions.get(dimension);
+    if(types == null) {
+      return Collections.emptyList();
+    }
+    List<Stats> list = Lists.newArrayList(types.values());
+    Collections.sort(list, MOST_EXPENSIVE);
+    return list;
+  }
+
+  /** @return The most expensive tile entity positions over all dimensions */
+  public static List<PositionStats> getTopPositions(int count) {
+    List<PositionStats> list = Lists.newArrayList();
+    for(TLongObjectHashMap<PositionStats> map : INSTANCE.positions.valueCollection()) {
+      list.addAll(map.valueCollection());
+    }
+    Collections.sort(list, MOST_EXPENSIVE);
+    return list.size() > count ? list.subList(0, count) : list;
+  }
+
+  /** @return A human readable report of everything collected since the last reset */
+  public static List<String> getReport(int topCount) {
+    List<String> lines = Lists.newArrayList();
+    long duration = System.currentTimeMillis() - INSTANCE.startTime;
+    lines.add(String.format(Locale.US, "Tinkers tick profile over %.1f s%s", duration / 1000f, enabled ? "" : " (not measuring)"));
+
+    int[] dims = INSTANCE.dimensions.keys();
+    Arrays.sort(dims);
+    for(int dimension : dims) {
+      lines.add("Dimension " + dimension + ":");
+      for(Stats stats : getStats(dimension)) {
+        lines.add(format(stats));
+      }
+    }
+
+    List<PositionStats> top = getTopPositions(topCount);
+    if(!top.isEmpty()) {
+      lines.add("Most expensive positions:");
+      for(PositionStats stats : top) {
+        lines.add(format(stats) + String.format(" at %d: %d, %d, %d", stats.dimension, stats.pos.getX(), stats.pos.getY(), stats.pos.getZ()));
+      }
+    }
+    return lines;
+  }
+
+  private static String format(Stats stats) {
+    return String.format(Locale.US, "  %s: %d calls, %.2f ms total, %.1f us avg, %.1f us max",
+                         stats.name, stats.calls, stats.nanos / 1e6,
+                         stats.calls > 0 ? stats.nanos / 1e3 / stats.calls : 0d, stats.maxNanos / 1e3);
+  }
+
+  /** Logs the report every few minutes if configured, and starts over */
+  @SubscribeEvent
+  public void onServerTick(TickEvent.ServerTickEvent event) {
+    if(event.phase != TickEvent.Phase.END || !enabled || Config.tickProfilerLogInterval <= 0) {
+      return;
+    }
+
+    ticks++;
+    if(ticks >= Config.tickProfilerLogInterval * 20) {
+      for(String line : getReport(Config.tickProfilerTopCount)) {
+        log.info(line);
+      }
+      reset();
+    }
+  }
+}
@@ -33,7 +33,12 @@ public final class TinkerUtil {
   }
 
   public static boolean hasTrait(NBTTagCompound root, String identifier) {
-    NBTTagList tagList = TagUtil.getTraitsTagList(root);
+    int[] ids = TagUtil.getIdentifierIds(root, Tags.TOOL_TRAITS);
+    if(ids != null) {
+      return containsId(ids, TinkerRegistry.getTraitPalette().getId(identifier));
+    }
+
+    NBTTagList tagList = TagUtil.getTraitsTagListReadOnly(root);
 
     for(int i = 0; i < tagList.tagCount(); i++) {
       if(identifier.equals(tagList.getStringTagAt(i))) {
@@ -45,7 +50,12 @@ public final class TinkerUtil {
   }
 
   public static boolean hasModifier(NBTTagCompound root, String identifier) {
-    NBTTagList tagList = TagUtil.getBaseModifiersTagList(root);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getBaseTagReadOnly(root), Tags.BASE_MODIFIERS);
+    if(ids != null) {
+      return containsId(ids, TinkerRegistry.getModifierPalette().getId(identifier));
+    }
+
+    NBTTagList tagList = TagUtil.getBaseModifiersTagListReadOnly(root);
 
     for(int i = 0; i < tagList.tagCount(); i++) {
       if(identifier.equals(tagList.getStringTagAt(i))) {
@@ -56,6 +66,18 @@ public final class TinkerUtil {
     return false;
   }
 
+  private static boolean containsId(int[] ids, int id) {
+    if(id < 0) {
+      return false;
+    }
+    for(int i : ids) {
+      if(i == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static int getIndexInList(NBTTagList tagList, String identifier) {
     if(tagList.getTagType() == TagUtil.TAG_TYPE_STRING) {
       return getIndexInStringList(tagList, identifier);
@@ -107,6 +129,24 @@ public final class TinkerUtil {
     return tagList.getCompoundTagAt(index);
   }
 
+  /** Gets the materials the tool was built from, without going through the names if they are saved as ids */
+  public static List<Material> getMaterials(ItemStack stack) {
+    return getMaterials(TagUtil.getTagReadOnly(stack));
+  }
+
+  public static List<Material> getMaterials(NBTTagCompound root) {
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getBaseTagReadOnly(root), Tags.BASE_MATERIALS);
+    if(ids == null) {
+      return getMaterialsFromTagList(TagUtil.getBaseMaterialsTagListReadOnly(root));
+    }
+
+    List<Material> materials = Lists.newLinkedList();
+    for(int id : ids) {
+      materials.add(TinkerRegistry.getMaterial(id));
+    }
+    return materials;
+  }
+
   public static List<Material> getMaterialsFromTagList(NBTTagList tagList) {
     List<Material> materials = Lists.newLinkedList();
     if(tagList.getTagType() != TagUtil.TAG_TYPE_STRING) {
@@ -48,6 +48,7 @@ import slimeknights.tconstruct.library.tinkering.Category;
 import slimeknights.tconstruct.library.tinkering.TinkersItem;
 import slimeknights.tconstruct.library.tools.IProjectileStats;
 import slimeknights.tconstruct.library.tools.ToolCore;
+import slimeknights.tconstruct.library.tools.ToolStats;
 import slimeknights.tconstruct.library.traits.ITrait;
 import slimeknights.tconstruct.library.events.TinkerToolEvent;
 import slimeknights.tconstruct.tools.TinkerTools;
@@ -68,20 +69,20 @@ public final class ToolHelper {
 
   /* Basic Tool data */
   public static int getDurabilityStat(ItemStack stack) {
-    return getIntTag(stack, Tags.DURABILITY);
+    return ToolStats.get(stack).durability;
   }
 
   public static int getHarvestLevelStat(ItemStack stack) {
-    return getIntTag(stack, Tags.HARVESTLEVEL);
+    return ToolStats.get(stack).harvestLevel;
   }
 
   /** Returns the speed saved on the tool. NOT the actual mining speed, see getActualMiningSpeed */
   public static float getMiningSpeedStat(ItemStack stack) {
-    return getfloatTag(stack, Tags.MININGSPEED);
+    return ToolStats.get(stack).speed;
   }
 
   public static float getAttackStat(ItemStack stack) {
-    return getfloatTag(stack, Tags.ATTACK);
+    return ToolStats.get(stack).attack;
   }
 
   public static float getActualAttack(ItemStack stack) {
@@ -97,7 +98,7 @@ public final class ToolHelper {
    * This is normally just a number from 1 to 2, the actual attack speed is in getActualAttackSpeed
    */
   public static float getAttackSpeedStat(ItemStack stack) {
-    return getfloatTag(stack, Tags.ATTACKSPEEDMULTIPLIER);
+    return ToolStats.get(stack).attackSpeedMultiplier;
   }
 
   /** Returns the actual attack speed */
@@ -120,12 +121,23 @@ public final class ToolHelper {
 
 
   public static int getFreeModifiers(ItemStack stack) {
-    return getIntTag(stack, Tags.FREE_MODIFIERS);
+    return ToolStats.get(stack).freeModifiers;
   }
 
   public static List<ITrait> getTraits(ItemStack stack) {
     List<ITrait> traits = Lists.newLinkedList();
-    NBTTagList traitsTagList = TagUtil.getTraitsTagList(stack);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(stack), Tags.TOOL_TRAITS);
+    if(ids != null) {
+      for(int id : ids) {
+        ITrait trait = TinkerRegistry.getTrait(id);
+        if(trait != null) {
+          traits.add(trait);
+        }
+      }
+      return traits;
+    }
+
+    NBTTagList traitsTagList = TagUtil.getTraitsTagListReadOnly(stack);
     for(int i = 0; i < traitsTagList.tagCount(); i++) {
       ITrait trait = TinkerRegistry.getTrait(traitsTagList.getStringTagAt(i));
       if(trait != null) {
@@ -154,8 +166,7 @@ public final class ToolHelper {
     }
 
     // calculate speed depending on stats
-    NBTTagCompound tag = TagUtil.getToolTag(stack);
-    float speed = tag.getFloat(Tags.MININGSPEED);
+    float speed = ToolStats.get(stack).speed;
 
     if(stack.getItem() instanceof ToolCore) {
       speed *= ((ToolCore) stack.getItem()).miningSpeedModifier();
@@ -185,7 +196,7 @@ public final class ToolHelper {
     }
 
     // this will be the only place besides fortify where a modifier is hardcoded. I promise. :L
-    if(TinkerUtil.hasModifier(TagUtil.getTagSafe(stack), TinkerTools.modBlasting.getIdentifier()) && state.getMaterial().isToolNotRequired()) {
+    if(TinkerUtil.hasModifier(TagUtil.getTagReadOnly(stack), TinkerTools.modBlasting.getIdentifier()) && state.getMaterial().isToolNotRequired()) {
       return true;
     }
 
@@ -482,15 +493,31 @@ public final class ToolHelper {
     }
 
     int actualAmount = amount;
-    NBTTagList list = TagUtil.getTraitsTagList(stack);
-    for(int i = 0; i < list.tagCount(); i++) {
-      ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-      if(trait != null) {
-        if(amount > 0) {
-          actualAmount = trait.onToolDamage(stack, amount, actualAmount, entity);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(stack), Tags.TOOL_TRAITS);
+    if(ids != null) {
+      for(int id : ids) {
+        ITrait trait = TinkerRegistry.getTrait(id);
+        if(trait != null) {
+          if(amount > 0) {
+            actualAmount = trait.onToolDamage(stack, amount, actualAmount, entity);
+          }
+          else {
+            actualAmount = trait.onToolHeal(stack, amount, actualAmount, entity);
+          }
         }
-        else {
-          actualAmount = trait.onToolHeal(stack, amount, actualAmount, entity);
+      }
+    }
+    else {
+      NBTTagList list = TagUtil.getTraitsTagListReadOnly(stack);
+      for(int i = 0; i < list.tagCount(); i++) {
+        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+        if(trait != null) {
+          if(amount > 0) {
+            actualAmount = trait.onToolDamage(stack, amount, actualAmount, entity);
+          }
+          else {
+            actualAmount = trait.onToolHeal(stack, amount, actualAmount, entity);
+          }
         }
       }
     }
@@ -509,7 +536,7 @@ public final class ToolHelper {
   }
 
   public static boolean isBroken(ItemStack stack) {
-    return TagUtil.getToolTag(stack).getBoolean(Tags.BROKEN);
+    return ToolStats.get(stack).broken;
   }
 
   public static void breakTool(ItemStack stack, EntityLivingBase entity) {
@@ -581,14 +608,7 @@ public final class ToolHelper {
     }
 
     // traits on the tool
-    List<ITrait> traits = Lists.newLinkedList();
-    NBTTagList traitsTagList = TagUtil.getTraitsTagList(stack);
-    for(int i = 0; i < traitsTagList.tagCount(); i++) {
-      ITrait trait = TinkerRegistry.getTrait(traitsTagList.getStringTagAt(i));
-      if(trait != null) {
-        traits.add(trait);
-      }
-    }
+    List<ITrait> traits = getTraits(stack);
 
     // players base damage (includes tools damage stat)
     float baseDamage = (float) attacker.getEntityAttribute(SharedMonsterAttributes.ATTACK_DAMAGE).getAttributeValue();
@@ -791,18 +811,4 @@ public final class ToolHelper {
       }
     }
   }
-
-  /* Helper Functions */
-
-  static int getIntTag(ItemStack stack, String key) {
-    NBTTagCompound tag = TagUtil.getToolTag(stack);
-
-    return tag.getInteger(key);
-  }
-
-  static float getfloatTag(ItemStack stack, String key) {
-    NBTTagCompound tag = TagUtil.getToolTag(stack);
-
-    return tag.getFloat(key);
-  }
 }
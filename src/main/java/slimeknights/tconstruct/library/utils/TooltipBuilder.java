@@ -109,7 +109,7 @@ public class TooltipBuilder {
   }
 
   public TooltipBuilder addModifierInfo() {
-    NBTTagList tagList = TagUtil.getModifiersTagList(stack);
+    NBTTagList tagList = TagUtil.getModifiersTagListReadOnly(stack);
     for(int i = 0; i < tagList.tagCount(); i++) {
       NBTTagCompound tag = tagList.getCompoundTagAt(i);
       ModifierNBT data = ModifierNBT.readTag(tag);
@@ -7,6 +7,7 @@ import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
 
 import slimeknights.mantle.pulsar.pulse.Pulse;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.smeltery.TinkerSmeltery;
 import slimeknights.tconstruct.world.TinkerWorld;
@@ -19,12 +20,14 @@ public class ChiselAndBits {
 
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     imc(TinkerSmeltery.searedBlock);
     imc(TinkerCommons.blockClearGlass);
     imc(TinkerCommons.blockClearStainedGlass);
     imc(TinkerCommons.blockSlime);
     imc(TinkerCommons.blockSlimeCongealed);
     imc(TinkerWorld.slimeLeaves);
+    StartupProfiler.end();
   }
 
   protected void imc(Block block) {
@@ -7,6 +7,7 @@ import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
 
 import slimeknights.mantle.pulsar.pulse.Pulse;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.tools.inventory.ContainerCraftingStation;
 
 @Pulse(id = CraftingTweaks.PulseId, modsRequired = CraftingTweaks.modid, defaultEnable = true)
@@ -17,10 +18,12 @@ public class CraftingTweaks {
 
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     NBTTagCompound tagCompound = new NBTTagCompound();
     tagCompound.setString("ContainerClass", ContainerCraftingStation.class.getName());
     tagCompound.setString("AlignToGrid", "left");
     FMLInterModComms.sendMessage(modid, "RegisterProvider", tagCompound);
+    StartupProfiler.end();
   }
 
 }
@@ -18,7 +18,7 @@ import slimeknights.tconstruct.library.smeltery.CastingRecipe;
 
 public class CastingRecipeWrapper extends BlankRecipeWrapper {
 
-  protected final List<ItemStack> cast;
+  protected List<ItemStack> cast;
   protected final List<FluidStack> inputFluid;
   protected List<ItemStack> output;
 
@@ -36,13 +36,8 @@ public class CastingRecipeWrapper extends BlankRecipeWrapper {
   }
 
   public CastingRecipeWrapper(CastingRecipe recipe, IDrawable castingBlock) {
-    // cast is not required
-    if(recipe.cast != null) {
-      cast = recipe.cast.getInputs();
-    }
-    else {
-      cast = ImmutableList.of();
-    }
+    // the casts are determined on first use
+    this.cast = null;
     this.inputFluid = ImmutableList.of(recipe.getFluid());
     this.recipe = recipe;
     // special treatment of oredict output recipies
@@ -60,6 +55,19 @@ public class CastingRecipeWrapper extends BlankRecipeWrapper {
     return recipe.cast != null;
   }
 
+  public List<ItemStack> getCasts() {
+    if(cast == null) {
+      // cast is not required
+      if(recipe.cast != null) {
+        cast = recipe.cast.getInputs();
+      }
+      else {
+        cast = ImmutableList.of();
+      }
+    }
+    return cast;
+  }
+
   @Nonnull
   @Override
   public List<FluidStack> getFluidInputs() {
@@ -69,10 +77,7 @@ public class CastingRecipeWrapper extends BlankRecipeWrapper {
   @Nonnull
   @Override
   public List getInputs() {
-    if(cast == null) {
-      return super.getInputs();
-    }
-    return cast;
+    return getCasts();
   }
 
   @Nonnull
@@ -1,5 +1,9 @@
 package slimeknights.tconstruct.plugin.jei;
 
+import net.minecraft.item.ItemStack;
+
+import java.util.List;
+
 import javax.annotation.Nonnull;
 
 import mezz.jei.api.recipe.IRecipeHandler;
@@ -34,9 +38,11 @@ public class DryingRecipeHandler implements IRecipeHandler<DryingRecipe> {
 
   @Override
   public boolean isRecipeValid(@Nonnull DryingRecipe recipe) {
-    return recipe.output != null &&
-           recipe.input != null &&
-           recipe.input.getInputs() != null &&
-           recipe.input.getInputs().size() > 0;
+    if(recipe.output == null || recipe.input == null) {
+      return false;
+    }
+    // the inputs may get built on every call, so only do it once
+    List<ItemStack> inputs = recipe.input.getInputs();
+    return inputs != null && !inputs.isEmpty();
   }
 }
@@ -1,6 +1,5 @@
 package slimeknights.tconstruct.plugin.jei;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -74,14 +73,17 @@ public class JEIPlugin implements IModPlugin {
                                              CastingRecipeCategory.CATEGORY);
 
       // melting recipes
-      registry.addRecipes(TinkerRegistry.getAllMeltingRecipies());
+      // the views don't copy the registries, the wrappers get created by the handlers
+      registry.addRecipes(TinkerRegistry.getMeltingRecipeView());
       // alloys
-      registry.addRecipes(TinkerRegistry.getAlloys());
+      registry.addRecipes(TinkerRegistry.getAlloyView());
 
       // casting
+      // all casting wrappers are collected and added at once
+      List<CastingRecipeWrapper> castingRecipes = Lists.newArrayList();
       // we collect together all casting recipes that create a cast and group them together into one recipe
       Map<Triple<Item, Item, Fluid>, List<ItemStack>> castDict = Maps.newHashMap();
-      for(ICastingRecipe irecipe : TinkerRegistry.getAllTableCastingRecipes()) {
+      for(ICastingRecipe irecipe : TinkerRegistry.getTableCastingView()) {
         if(irecipe instanceof CastingRecipe) {
           CastingRecipe recipe = (CastingRecipe) irecipe;
           if(recipe.cast != null && recipe.getResult() != null && recipe.getResult().getItem() instanceof Cast) {
@@ -90,29 +92,30 @@ public class JEIPlugin implements IModPlugin {
               // recipe for the cast doesn't exist yet. create list and recipe and add it
               List<ItemStack> list = Lists.newLinkedList();
               castDict.put(output, list);
-              registry.addRecipes(ImmutableList.of(new CastingRecipeWrapper(list, recipe, castingCategory.castingTable)));
+              castingRecipes.add(new CastingRecipeWrapper(list, recipe, castingCategory.castingTable));
             }
             // add the item to the list
             castDict.get(output).addAll(recipe.cast.getInputs());
           }
           else {
-            registry.addRecipes(ImmutableList.of(new CastingRecipeWrapper(recipe, castingCategory.castingTable)));
+            castingRecipes.add(new CastingRecipeWrapper(recipe, castingCategory.castingTable));
           }
         }
       }
-      for(ICastingRecipe irecipe : TinkerRegistry.getAllBasinCastingRecipes()) {
+      for(ICastingRecipe irecipe : TinkerRegistry.getBasinCastingView()) {
         if(irecipe instanceof CastingRecipe) {
           CastingRecipe recipe = (CastingRecipe) irecipe;
-          registry.addRecipes(ImmutableList.of(new CastingRecipeWrapper(recipe, castingCategory.castingBasin)));
+          castingRecipes.add(new CastingRecipeWrapper(recipe, castingCategory.castingBasin));
         }
       }
+      registry.addRecipes(castingRecipes);
     }
 
     // drying rack
     if(TConstruct.pulseManager.isPulseLoaded(TinkerGadgets.PulseId)) {
       registry.addRecipeCategories(new DryingRecipeCategory(guiHelper));
       registry.addRecipeHandlers(new DryingRecipeHandler());
-      registry.addRecipes(TinkerRegistry.getAllDryingRecipes());
+      registry.addRecipes(TinkerRegistry.getDryingRecipeView());
       registry.addRecipeCategoryCraftingItem(BlockTable.createItemstack(TinkerGadgets.rack, 1, Blocks.WOODEN_SLAB, 0),
                                              DryingRecipeCategory.CATEGORY);
     }
@@ -70,7 +70,7 @@ public class SmeltingRecipeCategory implements IRecipeCategory {
       fluids.set(0, recipe.outputs);
 
       fluids.init(1, false, 72, 38, 16, 16, 1000, false, tankOverlay);
-      fluids.set(1, recipe.fuels);
+      fluids.set(1, recipe.getFuels());
     }
   }
 }
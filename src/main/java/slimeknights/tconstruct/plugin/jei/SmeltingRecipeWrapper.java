@@ -20,22 +20,28 @@ public class SmeltingRecipeWrapper extends BlankRecipeWrapper {
   protected final List<ItemStack> inputs;
   protected final List<FluidStack> outputs;
   protected final int temperature;
-  protected final List<FluidStack> fuels;
+  protected List<FluidStack> fuels;
 
   public SmeltingRecipeWrapper(MeltingRecipe recipe) {
     this.inputs = recipe.input.getInputs();
     this.outputs = ImmutableList.of(recipe.getResult());
     this.temperature = recipe.getTemperature();
+  }
 
-    ImmutableList.Builder<FluidStack> builder = ImmutableList.builder();
-    for(FluidStack fs : TinkerRegistry.getSmelteryFuels()) {
-      if(fs.getFluid().getTemperature(fs) >= temperature) {
-        fs = fs.copy();
-        fs.amount = 1000;
-        builder.add(fs);
+  /** The fuels are only needed when the recipe is displayed, so they're determined on first use */
+  public List<FluidStack> getFuels() {
+    if(fuels == null) {
+      ImmutableList.Builder<FluidStack> builder = ImmutableList.builder();
+      for(FluidStack fs : TinkerRegistry.getSmelteryFuels()) {
+        if(fs.getFluid().getTemperature(fs) >= temperature) {
+          fs = fs.copy();
+          fs.amount = 1000;
+          builder.add(fs);
+        }
       }
+      fuels = builder.build();
     }
-    fuels = builder.build();
+    return fuels;
   }
 
   @Nonnull
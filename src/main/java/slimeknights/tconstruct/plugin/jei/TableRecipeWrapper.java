@@ -16,30 +16,35 @@ import slimeknights.tconstruct.tools.TableRecipe;
 
 public class TableRecipeWrapper extends ShapedOreRecipeWrapper {
 
-  private final List<ItemStack> outputs;
+  private final TableRecipe recipe;
+  private List<ItemStack> outputs;
 
   public TableRecipeWrapper(TableRecipe recipe) {
     super(recipe);
 
-    ImmutableList.Builder<ItemStack> builder = ImmutableList.builder();
-    for(ItemStack stack : recipe.outputBlocks) {
-      BlockTable block = (BlockTable) BlockTable.getBlockFromItem(recipe.getRecipeOutput().getItem());
-      Block legBlock = Block.getBlockFromItem(stack.getItem());
-      if(stack.getItemDamage() == OreDictionary.WILDCARD_VALUE) {
-        for(ItemStack sub : JEIPlugin.jeiHelpers.getStackHelper().getSubtypes(stack)) {
-          builder.add(BlockTable.createItemstack(block, recipe.getRecipeOutput().getItemDamage(), legBlock, sub.getItemDamage()));
-        }
-      }
-      else {
-        builder.add(BlockTable.createItemstack(block, recipe.getRecipeOutput().getItemDamage(), legBlock, stack.getItemDamage()));
-      }
-    }
-    outputs = builder.build();
+    this.recipe = recipe;
   }
 
   @Nonnull
   @Override
   public List<ItemStack> getOutputs() {
+    // expanding the wildcard subtypes is expensive, only do it when needed
+    if(outputs == null) {
+      ImmutableList.Builder<ItemStack> builder = ImmutableList.builder();
+      for(ItemStack stack : recipe.outputBlocks) {
+        BlockTable block = (BlockTable) BlockTable.getBlockFromItem(recipe.getRecipeOutput().getItem());
+        Block legBlock = Block.getBlockFromItem(stack.getItem());
+        if(stack.getItemDamage() == OreDictionary.WILDCARD_VALUE) {
+          for(ItemStack sub : JEIPlugin.jeiHelpers.getStackHelper().getSubtypes(stack)) {
+            builder.add(BlockTable.createItemstack(block, recipe.getRecipeOutput().getItemDamage(), legBlock, sub.getItemDamage()));
+          }
+        }
+        else {
+          builder.add(BlockTable.createItemstack(block, recipe.getRecipeOutput().getItemDamage(), legBlock, stack.getItemDamage()));
+        }
+      }
+      outputs = builder.build();
+    }
     return outputs;
   }
 }
@@ -6,6 +6,7 @@ import net.minecraftforge.fml.common.event.FMLInterModComms;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 
 import slimeknights.mantle.pulsar.pulse.Pulse;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 
 @Pulse(id = Waila.PulseId, modsRequired = Waila.modid, defaultEnable = true)
 public class Waila {
@@ -15,7 +16,9 @@ public class Waila {
 
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     FMLInterModComms.sendMessage("Waila", "register", "slimeknights.tconstruct.plugin.waila.WailaRegistrar.wailaCallback");
+    StartupProfiler.end();
   }
 
 
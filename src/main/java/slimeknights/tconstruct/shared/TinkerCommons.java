@@ -30,6 +30,7 @@ import slimeknights.tconstruct.common.config.Config;
 import slimeknights.tconstruct.common.item.ItemTinkerBook;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.block.BlockClearGlass;
 import slimeknights.tconstruct.shared.block.BlockClearStainedGlass;
 import slimeknights.tconstruct.shared.block.BlockDecoGround;
@@ -177,6 +178,7 @@ public class TinkerCommons extends TinkerPulse {
 
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     boolean forced = Config.forceRegisterAll; // causes to always register all items
 
     book = registerItem(new ItemTinkerBook(), "book");
@@ -329,10 +331,12 @@ public class TinkerCommons extends TinkerPulse {
     proxy.preInit();
 
     TinkerRegistry.tabGeneral.setDisplayIcon(matSlimeBallBlue);
+    StartupProfiler.end();
   }
 
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerRecipies();
     proxy.init();
 
@@ -341,6 +345,7 @@ public class TinkerCommons extends TinkerPulse {
     MinecraftForge.EVENT_BUS.register(new AchievementEvents());
     MinecraftForge.EVENT_BUS.register(new BlockEvents());
     MinecraftForge.EVENT_BUS.register(new PlayerDataEvents());
+    StartupProfiler.end();
   }
 
   private void registerRecipies() {
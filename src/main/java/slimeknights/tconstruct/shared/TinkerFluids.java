@@ -24,6 +24,7 @@ import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.fluid.FluidColored;
 import slimeknights.tconstruct.library.fluid.FluidMolten;
 import slimeknights.tconstruct.library.materials.Material;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.block.BlockLiquidSlime;
 import slimeknights.tconstruct.smeltery.TinkerSmeltery;
 import slimeknights.tconstruct.smeltery.block.BlockMolten;
@@ -151,6 +152,7 @@ public class TinkerFluids extends TinkerPulse {
 
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     if(isSmelteryLoaded()) {
       searedStone = fluidStone("stone", 0x777777);
       searedStone.setTemperature(800);
@@ -212,16 +214,21 @@ public class TinkerFluids extends TinkerPulse {
     }
 
     proxy.preInit();
+    StartupProfiler.end();
   }
 
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     proxy.init();
+    StartupProfiler.end();
   }
 
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     proxy.postInit();
+    StartupProfiler.end();
   }
 
   private static FluidMolten fluidMetal(Material material) {
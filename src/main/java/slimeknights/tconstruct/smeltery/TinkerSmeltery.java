@@ -3,14 +3,19 @@ package slimeknights.tconstruct.smeltery;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.eventbus.Subscribe;
 
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+
 import net.minecraft.block.Block;
 import net.minecraft.entity.monster.EntityIronGolem;
 import net.minecraft.entity.monster.EntitySnowman;
 import net.minecraft.entity.passive.EntityVillager;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
@@ -49,10 +54,12 @@ import slimeknights.tconstruct.library.materials.Material;
 import slimeknights.tconstruct.library.smeltery.BucketCastingRecipe;
 import slimeknights.tconstruct.library.smeltery.Cast;
 import slimeknights.tconstruct.library.smeltery.CastingRecipe;
+import slimeknights.tconstruct.library.smeltery.ICastingRecipe;
 import slimeknights.tconstruct.library.smeltery.MeltingRecipe;
 import slimeknights.tconstruct.library.smeltery.OreCastingRecipe;
 import slimeknights.tconstruct.library.tinkering.MaterialItem;
 import slimeknights.tconstruct.library.tools.IToolPart;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.shared.TinkerFluids;
 import slimeknights.tconstruct.shared.block.BlockSlime;
@@ -125,6 +132,10 @@ public class TinkerSmeltery extends TinkerPulse {
   public static ItemStack castGear;
 
   private static Map<Fluid, Set<Pair<List<ItemStack>, Integer>>> knownOreFluids = Maps.newHashMap();
+  // registration counts for the log, the times are measured by the StartupProfiler
+  private static int toolpartMaterials;
+  private static int toolpartMeltings;
+  private static int toolpartCastings;
   public static List<FluidStack> castCreationFluids = Lists.newLinkedList();
   public static List<FluidStack> clayCreationFluids = Lists.newLinkedList();
 
@@ -134,6 +145,7 @@ public class TinkerSmeltery extends TinkerPulse {
   // PRE-INITIALIZATION
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     searedBlock = registerEnumBlock(new BlockSeared(), "seared");
     smelteryController = registerBlock(new BlockSmelteryController(), "smeltery_controller");
     searedTank = registerBlock(new ItemTank(new BlockTank()), "seared_tank");
@@ -198,11 +210,13 @@ public class TinkerSmeltery extends TinkerPulse {
     builder.add(searedGlass);
 
     validSmelteryBlocks = builder.build();
+    StartupProfiler.end();
   }
 
   // INITIALIZATION
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     // done here so they're present for integration in MaterialIntegration and fluids in TinkerFluids are also initialized
     castCreationFluids.add(new FluidStack(TinkerFluids.gold, Material.VALUE_Ingot * 2));
     if(TinkerIntegration.isIntegrated(TinkerFluids.brass)) {
@@ -218,6 +232,7 @@ public class TinkerSmeltery extends TinkerPulse {
     registerRecipes();
 
     proxy.init();
+    StartupProfiler.end();
   }
 
   private void registerRecipes() {
@@ -326,11 +341,20 @@ public class TinkerSmeltery extends TinkerPulse {
   // POST-INITIALIZATION
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerSmelteryFuel();
+    StartupProfiler.begin(PulseId + ":meltingCasting", event);
     registerMeltingCasting();
     registerAlloys();
+    StartupProfiler.end();
+
+    StartupProfiler.begin(PulseId + ":oredictMelting", event);
+    int autoMeltings = registerRecipeOredictMelting();
+    StartupProfiler.end();
 
-    registerRecipeOredictMelting();
+    log.info("Registered toolpart melting and casting for {} materials: {} melting and {} casting recipes",
+             toolpartMaterials, toolpartMeltings, toolpartCastings);
+    log.info("Found {} automatic melting recipes", autoMeltings);
 
     // register remaining cast creation
     for(FluidStack fs : castCreationFluids) {
@@ -342,6 +366,7 @@ public class TinkerSmeltery extends TinkerPulse {
     }
 
     proxy.postInit();
+    StartupProfiler.end();
   }
 
   private void registerSmelteryFuel() {
@@ -551,6 +576,10 @@ public class TinkerSmeltery extends TinkerPulse {
   }
 
   public static void registerToolpartMeltingCasting(Material material) {
+    // collect everything first and register it in one go, so the recipe indices are only invalidated once
+    List<MeltingRecipe> meltings = Lists.newArrayList();
+    List<ICastingRecipe> castings = Lists.newArrayList();
+
     // melt ALL the toolparts n stuff. Also cast them.
     Fluid fluid = material.getFluid();
     for(IToolPart toolPart : TinkerRegistry.getToolParts()) {
@@ -561,16 +590,16 @@ public class TinkerSmeltery extends TinkerPulse {
 
         if(fluid != null) {
           // melting
-          TinkerRegistry.registerMelting(stack, fluid, toolPart.getCost());
+          meltings.add(new MeltingRecipe(new RecipeMatch.ItemCombination(toolPart.getCost(), stack), fluid));
           // casting
-          TinkerRegistry.registerTableCasting(stack, cast, fluid, toolPart.getCost());
+          castings.add(new CastingRecipe(stack, RecipeMatch.ofNBT(cast), fluid, toolPart.getCost()));
         }
         // register cast creation from the toolparts
         for(FluidStack fs : castCreationFluids) {
-          TinkerRegistry.registerTableCasting(new CastingRecipe(cast,
-                                                                RecipeMatch.ofNBT(stack),
-                                                                fs,
-                                                                true, true));
+          castings.add(new CastingRecipe(cast,
+                                         RecipeMatch.ofNBT(stack),
+                                         fs,
+                                         true, true));
         }
 
         // clay casts
@@ -581,13 +610,13 @@ public class TinkerSmeltery extends TinkerPulse {
           if(fluid != null) {
             RecipeMatch rm = RecipeMatch.ofNBT(clayCast);
             FluidStack fs = new FluidStack(fluid, toolPart.getCost());
-            TinkerRegistry.registerTableCasting(new CastingRecipe(stack, rm, fs, true, false));
+            castings.add(new CastingRecipe(stack, rm, fs, true, false));
           }
           for(FluidStack fs : clayCreationFluids) {
-            TinkerRegistry.registerTableCasting(new CastingRecipe(clayCast,
-                                                                  RecipeMatch.ofNBT(stack),
-                                                                  fs,
-                                                                  true, true));
+            castings.add(new CastingRecipe(clayCast,
+                                           RecipeMatch.ofNBT(stack),
+                                           fs,
+                                           true, true));
           }
         }
       }
@@ -600,18 +629,25 @@ public class TinkerSmeltery extends TinkerPulse {
 
       if(fluid != null) {
         // melting
-        TinkerRegistry.registerMelting(stack, fluid, cost);
+        meltings.add(new MeltingRecipe(new RecipeMatch.ItemCombination(cost, stack), fluid));
         // casting
-        TinkerRegistry.registerTableCasting(stack, castShard, fluid, cost);
+        castings.add(new CastingRecipe(stack, RecipeMatch.ofNBT(castShard), fluid, cost));
       }
       // register cast creation from the toolparts
       for(FluidStack fs : castCreationFluids) {
-        TinkerRegistry.registerTableCasting(new CastingRecipe(castShard,
-                                                              RecipeMatch.ofNBT(stack),
-                                                              fs,
-                                                              true, true));
+        castings.add(new CastingRecipe(castShard,
+                                       RecipeMatch.ofNBT(stack),
+                                       fs,
+                                       true, true));
       }
     }
+
+    TinkerRegistry.registerMeltings(meltings);
+    TinkerRegistry.registerTableCastings(castings);
+
+    toolpartMaterials++;
+    toolpartMeltings += meltings.size();
+    toolpartCastings += castings.size();
   }
 
   /**
@@ -680,24 +716,31 @@ public class TinkerSmeltery extends TinkerPulse {
   }
 
   // take all fluids we registered oredicts for and scan all recipies for oredict-recipies that we can apply this to
-  private static void registerRecipeOredictMelting() {
-    // we go through all recipies, and if it's an ore recipe we go through its contents and check if it
-    // only consists of one of our known oredict entries
-    for(IRecipe irecipe : CraftingManager.getInstance().getRecipeList()) {
-      // blacklisted?
-      boolean blacklisted = false;
-      for(ItemStack blacklistItem : meltingBlacklist) {
-        if(OreDictionary.itemMatches(blacklistItem, irecipe.getRecipeOutput(), false)) {
-          blacklisted = true;
-          break;
+  private static int registerRecipeOredictMelting() {
+    int added = 0;
+    // what each known oredict list and each itemstack in them melts into
+    // identity, because oredict lists are the same object per entry and ItemStack doesn't implement equals
+    // the first fluid and pair containing it wins, same as checking them one after another
+    Map<Object, Pair<Fluid, Integer>> meltsInto = Maps.newIdentityHashMap();
+    for(Map.Entry<Fluid, Set<Pair<List<ItemStack>, Integer>>> entry : knownOreFluids.entrySet()) {
+      for(Pair<List<ItemStack>, Integer> pair : entry.getValue()) {
+        Pair<Fluid, Integer> value = Pair.of(entry.getKey(), pair.getRight());
+        if(!meltsInto.containsKey(pair.getLeft())) {
+          meltsInto.put(pair.getLeft(), value);
+        }
+        for(ItemStack stack : pair.getLeft()) {
+          if(!meltsInto.containsKey(stack)) {
+            meltsInto.put(stack, value);
+          }
         }
       }
+    }
 
-      // recipe already has a melting recipe?
-      if(blacklisted || TinkerRegistry.getMelting(irecipe.getRecipeOutput()) != null) {
-        continue;
-      }
+    MeltingBlacklist blacklist = new MeltingBlacklist(meltingBlacklist);
 
+    // we go through all recipies, and if it's an ore recipe we go through its contents and check if it
+    // only consists of one of our known oredict entries
+    for(IRecipe irecipe : CraftingManager.getInstance().getRecipeList()) {
       List<Object> inputs;
       if(irecipe instanceof ShapelessOreRecipe) {
         inputs = ((ShapelessOreRecipe) irecipe).getInput();
@@ -716,54 +759,81 @@ public class TinkerSmeltery extends TinkerPulse {
         continue;
       }
 
-      // this map holds how much of which fluid is known of the recipe
+      // how much of which fluid is known of the recipe
       // if an recipe contains an itemstack that can't be mapped to a fluid calculation is aborted
-      Map<Fluid, Integer> known = Maps.newHashMap();
+      // we only support single-liquid recipies currently :I
+      Fluid fluid = null;
+      int amount = 0;
       for(Object o : inputs) {
         // can contain nulls because of shapedrecipe
         if(o == null) {
           continue;
         }
-        boolean found = false;
-        for(Map.Entry<Fluid, Set<Pair<List<ItemStack>, Integer>>> entry : knownOreFluids.entrySet()) {
-          // check if it's a known oredict (all oredict lists are equal if they match the same oredict)
-          // OR if it's an itemstack contained in one of our oredicts
-          for(Pair<List<ItemStack>, Integer> pair : entry.getValue()) {
-            if(o == pair.getLeft() || (o instanceof ItemStack && pair.getLeft().contains(o))) {
-              // matches! Update fluid amount known
-              Integer amount = known.get(entry.getKey()); // what we found for the liquid so far
-              if(amount == null) {
-                // nothing is what we found so far.
-                amount = 0;
-              }
-              amount += pair.getRight();
-              known.put(entry.getKey(), amount);
-              found = true;
-              break;
-            }
-          }
-          if(found) {
-            break;
-          }
-        }
-        // not a recipe we can process, contains an item that can't melt
-        if(!found) {
-          known.clear();
+        Pair<Fluid, Integer> melting = meltsInto.get(o);
+        // not a recipe we can process, contains an item that can't melt or a second fluid
+        if(melting == null || (fluid != null && fluid != melting.getLeft())) {
+          fluid = null;
           break;
         }
+        fluid = melting.getLeft();
+        amount += melting.getRight();
+      }
+
+      if(fluid == null) {
+        continue;
+      }
+
+      // the expensive checks only for the few recipes that could melt
+      // blacklisted or recipe already has a melting recipe?
+      ItemStack output = irecipe.getRecipeOutput();
+      if(output == null || blacklist.contains(output) || TinkerRegistry.getMelting(output) != null) {
+        continue;
       }
 
       // add a melting recipe for it
-      // we only support single-liquid recipies currently :I
-      if(known.keySet().size() == 1) {
-        Fluid fluid = known.keySet().iterator().next();
-        ItemStack output = irecipe.getRecipeOutput().copy();
-        int amount = known.get(fluid) / output.stackSize;
-        output.stackSize = 1;
-        TinkerRegistry.registerMelting(new MeltingRecipe(RecipeMatch.of(output, amount), fluid));
-        log.trace("Added automatic melting recipe for {} ({} {})", irecipe.getRecipeOutput().toString(), amount, fluid
-            .getName());
+      output = output.copy();
+      amount /= output.stackSize;
+      output.stackSize = 1;
+      TinkerRegistry.registerMelting(new MeltingRecipe(RecipeMatch.of(output, amount), fluid));
+      added++;
+      log.trace("Added automatic melting recipe for {} ({} {})", irecipe.getRecipeOutput().toString(), amount, fluid
+          .getName());
+    }
+
+    return added;
+  }
+
+  /** The melting blacklist as hash lookups, matches the same items as OreDictionary.itemMatches */
+  private static class MeltingBlacklist {
+
+    private final Set<Item> wildcard = Sets.newHashSet();
+    private final Map<Item, TIntSet> metas = Maps.newHashMap();
+
+    MeltingBlacklist(List<ItemStack> stacks) {
+      for(ItemStack stack : stacks) {
+        if(stack == null || stack.getItem() == null) {
+          continue;
+        }
+        if(stack.getMetadata() == OreDictionary.WILDCARD_VALUE) {
+          wildcard.add(stack.getItem());
+        }
+        else {
+          TIntSet set = metas.get(stack.getItem());
+          if(set == null) {
+            set = new TIntHashSet();
+            metas.put(stack.getItem(), set);
+          }
+          set.add(stack.getMetadata());
+        }
+      }
+    }
+
+    boolean contains(ItemStack stack) {
+      if(wildcard.contains(stack.getItem())) {
+        return true;
       }
+      TIntSet set = metas.get(stack.getItem());
+      return set != null && set.contains(stack.getMetadata());
     }
   }
 }
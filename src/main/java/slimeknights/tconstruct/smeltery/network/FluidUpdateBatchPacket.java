@@ -0,0 +1,95 @@
+package slimeknights.tconstruct.smeltery.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import slimeknights.mantle.network.AbstractPacketThreadsafe;
+import slimeknights.tconstruct.common.network.FluidCodec;
+import slimeknights.tconstruct.smeltery.tileentity.TileCasting;
+import slimeknights.tconstruct.smeltery.tileentity.TileFaucet;
+import slimeknights.tconstruct.smeltery.tileentity.TileTank;
+
+/**
+ * All fluid changes of tanks, casting blocks and faucets a player can see that happened during one tick.
+ * Combines what would otherwise be one {@link FluidUpdatePacket} or {@link FaucetActivationPacket} per change.
+ */
+public class FluidUpdateBatchPacket extends AbstractPacketThreadsafe {
+
+  public static final byte TYPE_FLUID = 0;
+  public static final byte TYPE_FAUCET = 1;
+
+  public static class Entry {
+
+    public final BlockPos pos;
+    public final byte type;
+    public final FluidStack fluid;
+
+    public Entry(BlockPos pos, byte type, FluidStack fluid) {
+      this.pos = pos;
+      this.type = type;
+      this.fluid = fluid;
+    }
+  }
+
+  public List<Entry> entries;
+
+  public FluidUpdateBatchPacket() {
+  }
+
+  public FluidUpdateBatchPacket(List<Entry> entries) {
+    this.entries = entries;
+  }
+
+  @Override
+  public void handleClientSafe(NetHandlerPlayClient netHandler) {
+    for(Entry entry : entries) {
+      TileEntity te = Minecraft.getMinecraft().theWorld.getTileEntity(entry.pos);
+      if(entry.type == TYPE_FAUCET) {
+        if(te instanceof TileFaucet) {
+          ((TileFaucet) te).onActivationPacket(entry.fluid);
+        }
+      }
+      else if(te instanceof TileTank) {
+        ((TileTank) te).updateFluidTo(entry.fluid);
+      }
+      else if(te instanceof TileCasting) {
+        ((TileCasting) te).updateFluidTo(entry.fluid);
+      }
+    }
+  }
+
+  @Override
+  public void handleServerSafe(NetHandlerPlayServer netHandler) {
+    // clientside only
+    throw new UnsupportedOperationException("Clientside only");
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    int size = buf.readInt();
+    entries = new ArrayList<Entry>(size);
+    for(int i = 0; i < size; i++) {
+      BlockPos pos = readPos(buf);
+      byte type = buf.readByte();
+      entries.add(new Entry(pos, type, FluidCodec.readFluid(buf)));
+    }
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    buf.writeInt(entries.size());
+    for(Entry entry : entries) {
+      writePos(entry.pos, buf);
+      buf.writeByte(entry.type);
+      FluidCodec.writeFluid(buf, entry.fluid);
+    }
+  }
+}
@@ -2,15 +2,14 @@ package slimeknights.tconstruct.smeltery.network;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetHandlerPlayClient;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import io.netty.buffer.ByteBuf;
 import slimeknights.mantle.network.AbstractPacketThreadsafe;
+import slimeknights.tconstruct.common.network.FluidCodec;
 import slimeknights.tconstruct.smeltery.tileentity.TileCasting;
 import slimeknights.tconstruct.smeltery.tileentity.TileTank;
 
@@ -47,17 +46,12 @@ public class FluidUpdatePacket extends AbstractPacketThreadsafe {
   @Override
   public void fromBytes(ByteBuf buf) {
     pos = readPos(buf);
-    NBTTagCompound tag = ByteBufUtils.readTag(buf);
-    fluid = FluidStack.loadFluidStackFromNBT(tag);
+    fluid = FluidCodec.readFluid(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
     writePos(pos, buf);
-    NBTTagCompound tag = new NBTTagCompound();
-    if(fluid != null) {
-      fluid.writeToNBT(tag);
-    }
-    ByteBufUtils.writeTag(buf, tag);
+    FluidCodec.writeFluid(buf, fluid);
   }
 }
@@ -0,0 +1,91 @@
+package slimeknights.tconstruct.smeltery.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.List;
+import java.util.Map;
+
+import slimeknights.tconstruct.common.TinkerNetwork;
+import slimeknights.tconstruct.common.network.ChunkWatchers;
+
+/**
+ * Collects the fluid changes of tanks, casting blocks and faucets during a tick and sends them at the end of the tick.
+ * Only the latest state of each position is sent, and every player gets a single packet with all changes they can see.
+ * A faucet pouring into a casting table changes the fluid nearly every tick, the client animates between the updates
+ * anyway.
+ */
+public class FluidUpdateQueue {
+
+  public static final FluidUpdateQueue INSTANCE = new FluidUpdateQueue();
+
+  // world -> position -> latest state, insertion ordered
+  private final Map<WorldServer, Map<BlockPos, FluidUpdateBatchPacket.Entry>> queued = Maps.newIdentityHashMap();
+
+  private FluidUpdateQueue() {
+  }
+
+  /** Queues the fluid of a tank or casting block for syncing */
+  public static void queueFluid(WorldServer world, BlockPos pos, FluidStack fluid) {
+    INSTANCE.queue(world, pos, FluidUpdateBatchPacket.TYPE_FLUID, fluid);
+  }
+
+  /** Queues the state of a faucet for syncing, null if it stopped pouring */
+  public static void queueFaucet(WorldServer world, BlockPos pos, FluidStack fluid) {
+    INSTANCE.queue(world, pos, FluidUpdateBatchPacket.TYPE_FAUCET, fluid);
+  }
+
+  private void queue(WorldServer world, BlockPos pos, byte type, FluidStack fluid) {
+    Map<BlockPos, FluidUpdateBatchPacket.Entry> entries = queued.get(world);
+    if(entries == null) {
+      entries = Maps.newLinkedHashMap();
+      queued.put(world, entries);
+    }
+    // the tank keeps changing its fluid, so copy the current state
+    entries.put(pos, new FluidUpdateBatchPacket.Entry(pos, type, fluid != null ? fluid.copy() : null));
+  }
+
+  @SubscribeEvent
+  public void onServerTick(TickEvent.ServerTickEvent event) {
+    if(event.phase != TickEvent.Phase.END || queued.isEmpty()) {
+      return;
+    }
+
+    for(Map.Entry<WorldServer, Map<BlockPos, FluidUpdateBatchPacket.Entry>> world : queued.entrySet()) {
+      flush(world.getKey(), world.getValue());
+    }
+    queued.clear();
+  }
+
+  private void flush(WorldServer world, Map<BlockPos, FluidUpdateBatchPacket.Entry> entries) {
+    // sort the changes by who can see them
+    Map<EntityPlayerMP, List<FluidUpdateBatchPacket.Entry>> perPlayer = Maps.newIdentityHashMap();
+    for(FluidUpdateBatchPacket.Entry entry : entries.values()) {
+      for(EntityPlayerMP player : ChunkWatchers.getWatchers(world, entry.pos.getX() >> 4, entry.pos.getZ() >> 4)) {
+        List<FluidUpdateBatchPacket.Entry> list = perPlayer.get(player);
+        if(list == null) {
+          list = Lists.newArrayList();
+          perPlayer.put(player, list);
+        }
+        list.add(entry);
+      }
+    }
+
+    for(Map.Entry<EntityPlayerMP, List<FluidUpdateBatchPacket.Entry>> player : perPlayer.entrySet()) {
+      TinkerNetwork.sendTo(new FluidUpdateBatchPacket(player.getValue()), player.getKey());
+    }
+  }
+
+  @SubscribeEvent
+  public void onWorldUnload(WorldEvent.Unload event) {
+    queued.remove(event.getWorld());
+  }
+}
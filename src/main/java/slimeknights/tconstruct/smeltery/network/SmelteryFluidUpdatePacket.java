@@ -2,18 +2,16 @@ package slimeknights.tconstruct.smeltery.network;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetHandlerPlayClient;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import io.netty.buffer.ByteBuf;
 import slimeknights.mantle.network.AbstractPacketThreadsafe;
+import slimeknights.tconstruct.common.network.FluidCodec;
 import slimeknights.tconstruct.smeltery.tileentity.TileSmeltery;
 
 public class SmelteryFluidUpdatePacket extends AbstractPacketThreadsafe {
@@ -47,23 +45,12 @@ public class SmelteryFluidUpdatePacket extends AbstractPacketThreadsafe {
   @Override
   public void fromBytes(ByteBuf buf) {
     pos = readPos(buf);
-    int size = buf.readInt();
-    liquids = new ArrayList<FluidStack>(size);
-    for(int i = 0; i < size; i++) {
-      NBTTagCompound fluidTag = ByteBufUtils.readTag(buf);
-      FluidStack liquid = FluidStack.loadFluidStackFromNBT(fluidTag);
-      liquids.add(liquid);
-    }
+    liquids = FluidCodec.readFluids(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
     writePos(pos, buf);
-    buf.writeInt(liquids.size());
-    for(FluidStack liquid : liquids) {
-      NBTTagCompound fluidTag = new NBTTagCompound();
-      liquid.writeToNBT(fluidTag);
-      ByteBufUtils.writeTag(buf, fluidTag);
-    }
+    FluidCodec.writeFluids(buf, liquids);
   }
 }
@@ -2,15 +2,14 @@ package slimeknights.tconstruct.smeltery.network;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetHandlerPlayClient;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import io.netty.buffer.ByteBuf;
 import slimeknights.mantle.network.AbstractPacketThreadsafe;
+import slimeknights.tconstruct.common.network.FluidCodec;
 import slimeknights.tconstruct.smeltery.tileentity.TileSmeltery;
 
 // Sent to the client when the smeltery consumes fuel
@@ -55,8 +54,7 @@ public class SmelteryFuelUpdatePacket extends AbstractPacketThreadsafe {
 
     temperature = buf.readInt();
 
-    NBTTagCompound fluidTag = ByteBufUtils.readTag(buf);
-    fuel = FluidStack.loadFluidStackFromNBT(fluidTag);
+    fuel = FluidCodec.readFluid(buf);
   }
 
   @Override
@@ -66,8 +64,6 @@ public class SmelteryFuelUpdatePacket extends AbstractPacketThreadsafe {
 
     buf.writeInt(temperature);
 
-    NBTTagCompound fluidTag = new NBTTagCompound();
-    fuel.writeToNBT(fluidTag);
-    ByteBufUtils.writeTag(buf, fluidTag);
+    FluidCodec.writeFluid(buf, fuel);
   }
 }
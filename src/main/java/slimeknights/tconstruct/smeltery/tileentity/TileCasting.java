@@ -26,15 +26,15 @@ import net.minecraftforge.items.wrapper.SidedInvWrapper;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import slimeknights.tconstruct.common.TinkerNetwork;
 import slimeknights.tconstruct.library.fluid.FluidHandlerCasting;
 import slimeknights.tconstruct.library.fluid.FluidTankAnimated;
 import slimeknights.tconstruct.library.smeltery.CastingRecipe;
 import slimeknights.tconstruct.library.smeltery.ICastingRecipe;
 import slimeknights.tconstruct.library.tileentity.IProgress;
+import slimeknights.tconstruct.library.utils.TickProfiler;
 import slimeknights.tconstruct.shared.tileentity.TileTable;
 import slimeknights.tconstruct.smeltery.events.TinkerCastingEvent;
-import slimeknights.tconstruct.smeltery.network.FluidUpdatePacket;
+import slimeknights.tconstruct.smeltery.network.FluidUpdateQueue;
 
 public abstract class TileCasting extends TileTable implements ITickable, ISidedInventory, IProgress {
 
@@ -128,6 +128,12 @@ public abstract class TileCasting extends TileTable implements ITickable, ISided
 
   @Override
   public void update() {
+    long start = TickProfiler.start();
+    updateCasting();
+    TickProfiler.endTile(this, start);
+  }
+
+  private void updateCasting() {
     // no recipeeeh
     if(recipe == null) {
       return;
@@ -233,7 +239,7 @@ public abstract class TileCasting extends TileTable implements ITickable, ISided
     tank.renderOffset = 0;
 
     if(worldObj != null && !worldObj.isRemote && worldObj instanceof WorldServer) {
-      TinkerNetwork.sendToClients((WorldServer) worldObj, pos, new FluidUpdatePacket(pos, null));
+      FluidUpdateQueue.queueFluid((WorldServer) worldObj, pos, null);
     }
   }
 
@@ -15,10 +15,10 @@ import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import javax.annotation.Nonnull;
 
-import slimeknights.tconstruct.common.TinkerNetwork;
 import slimeknights.tconstruct.library.materials.Material;
+import slimeknights.tconstruct.library.utils.TickProfiler;
 import slimeknights.tconstruct.smeltery.block.BlockFaucet;
-import slimeknights.tconstruct.smeltery.network.FaucetActivationPacket;
+import slimeknights.tconstruct.smeltery.network.FluidUpdateQueue;
 
 public class TileFaucet extends TileEntity implements ITickable {
 
@@ -66,6 +66,12 @@ public class TileFaucet extends TileEntity implements ITickable {
 
   @Override
   public void update() {
+    long start = TickProfiler.start();
+    updateFaucet();
+    TickProfiler.endTile(this, start);
+  }
+
+  private void updateFaucet() {
     if(worldObj.isRemote) {
       return;
     }
@@ -114,7 +120,7 @@ public class TileFaucet extends TileEntity implements ITickable {
 
           // sync to clients
           if(!worldObj.isRemote && worldObj instanceof WorldServer) {
-            TinkerNetwork.sendToClients((WorldServer) worldObj, pos, new FaucetActivationPacket(pos, drained));
+            FluidUpdateQueue.queueFaucet((WorldServer) worldObj, pos, drained);
           }
 
           return;
@@ -160,7 +166,7 @@ public class TileFaucet extends TileEntity implements ITickable {
 
     // sync to clients
     if(worldObj != null && !worldObj.isRemote && worldObj instanceof WorldServer) {
-      TinkerNetwork.sendToClients((WorldServer) worldObj, pos, new FaucetActivationPacket(pos, null));
+      FluidUpdateQueue.queueFaucet((WorldServer) worldObj, pos, null);
     }
   }
 
@@ -3,6 +3,8 @@ package slimeknights.tconstruct.smeltery.tileentity;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
+import gnu.trove.list.array.TIntArrayList;
+
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.gui.inventory.GuiContainer;
 import net.minecraft.entity.Entity;
@@ -10,6 +12,7 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.Container;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -38,6 +41,7 @@ import slimeknights.mantle.common.IInventoryGui;
 import slimeknights.mantle.multiblock.IMasterLogic;
 import slimeknights.mantle.multiblock.IServantLogic;
 import slimeknights.tconstruct.common.TinkerNetwork;
+import slimeknights.tconstruct.common.network.FluidCodec;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
 import slimeknights.tconstruct.library.materials.Material;
@@ -46,6 +50,7 @@ import slimeknights.tconstruct.library.smeltery.ISmelteryTankHandler;
 import slimeknights.tconstruct.library.smeltery.MeltingRecipe;
 import slimeknights.tconstruct.library.smeltery.SmelteryTank;
 import slimeknights.tconstruct.library.utils.TagUtil;
+import slimeknights.tconstruct.library.utils.TickProfiler;
 import slimeknights.tconstruct.shared.TinkerFluids;
 import slimeknights.tconstruct.smeltery.TinkerSmeltery;
 import slimeknights.tconstruct.smeltery.block.BlockSmelteryController;
@@ -68,6 +73,12 @@ public class TileSmeltery extends TileHeatingStructure implements IMasterLogic,
   protected static final int MAX_SIZE = 9; // 9 to allow 8x8 smelteries which hold 1 stack and 9x9 for nugget/ingot processing.
   protected static final int CAPACITY_PER_BLOCK = Material.VALUE_Ingot * 8;
   protected static final int ALLOYING_PER_TICK = 10; // how much liquid can be created per tick to make alloys
+  protected static final String TAG_PACKED_LIQUIDS = "liquidsPacked";
+  protected static final String TAG_PACKED_FUEL = "fuelPacked";
+  protected static final String TAG_SYNC_SIZE = "syncSize";
+  protected static final String TAG_SYNC_FILLED = "syncFilled";
+  protected static final String TAG_SYNC_ITEMS = "syncItems";
+  protected static final String TAG_SYNC_ITEM_TAGS = "syncItemTags";
 
   // Info about the smeltery structure/multiblock
   public boolean active;
@@ -97,6 +108,12 @@ public class TileSmeltery extends TileHeatingStructure implements IMasterLogic,
 
   @Override
   public void update() {
+    long start = TickProfiler.start();
+    updateSmeltery();
+    TickProfiler.endTile(this, start);
+  }
+
+  private void updateSmeltery() {
     if(this.worldObj.isRemote) {
       return;
     }
@@ -663,18 +680,124 @@ public class TileSmeltery extends TileHeatingStructure implements IMasterLogic,
     insideCheck = TagUtil.readPos(compound.getCompoundTag("insidePos"));
   }
 
+  /**
+   * Writes only what the renderer and the GUI need: structure, items as id and metadata, liquids and fuel.
+   * Items with NBT, like toolparts and tools, also get their NBT since their rendering and melting depends on it.
+   * The complete items are synced by the container when a player opens the GUI.
+   */
+  protected NBTTagCompound writeClientSyncTag(NBTTagCompound tag) {
+    tag.setInteger("x", pos.getX());
+    tag.setInteger("y", pos.getY());
+    tag.setInteger("z", pos.getZ());
+
+    tag.setBoolean("active", active);
+    if(minPos != null && maxPos != null) {
+      tag.setTag("minPos", TagUtil.writePos(minPos));
+      tag.setTag("maxPos", TagUtil.writePos(maxPos));
+    }
+
+    // one bit per slot, and the id and metadata of every filled slot
+    int size = getSizeInventory();
+    byte[] filled = new byte[(size + 7) / 8];
+    TIntArrayList items = new TIntArrayList();
+    // slot -> item NBT, only for items that have some
+    NBTTagCompound itemTags = new NBTTagCompound();
+    for(int i = 0; i < size; i++) {
+      ItemStack stack = getStackInSlot(i);
+      if(stack != null && stack.getItem() != null) {
+        filled[i >> 3] |= 1 << (i & 7);
+        items.add(Item.getIdFromItem(stack.getItem()) << 16 | (stack.getItemDamage() & 0xFFFF));
+        if(stack.hasTagCompound()) {
+          itemTags.setTag(String.valueOf(i), stack.getTagCompound().copy());
+        }
+      }
+    }
+    tag.setInteger(TAG_SYNC_SIZE, size);
+    tag.setByteArray(TAG_SYNC_FILLED, filled);
+    tag.setIntArray(TAG_SYNC_ITEMS, items.toArray());
+    if(!itemTags.hasNoTags()) {
+      tag.setTag(TAG_SYNC_ITEM_TAGS, itemTags);
+    }
+
+    tag.setByteArray(TAG_PACKED_LIQUIDS, FluidCodec.encodeFluids(liquids.getFluids()));
+    tag.setInteger("LiquidCapacity", liquids.getCapacity());
+
+    // fuel display
+    tag.setInteger("fuel", fuel);
+    tag.setInteger("temperature", temperature);
+    List<FluidStack> fuelList = currentFuel != null ? ImmutableList.of(currentFuel) : ImmutableList.<FluidStack>of();
+    tag.setByteArray(TAG_PACKED_FUEL, FluidCodec.encodeFluids(fuelList));
+    if(currentTank != null) {
+      tag.setTag("currentTank", TagUtil.writePos(currentTank));
+    }
+    NBTTagList tankList = new NBTTagList();
+    for(BlockPos pos : tanks) {
+      tankList.appendTag(TagUtil.writePos(pos));
+    }
+    tag.setTag("tanks", tankList);
+
+    return tag;
+  }
+
+  protected void readClientSyncTag(NBTTagCompound tag) {
+    active = tag.getBoolean("active");
+    if(tag.hasKey("minPos")) {
+      minPos = TagUtil.readPos(tag.getCompoundTag("minPos"));
+      maxPos = TagUtil.readPos(tag.getCompoundTag("maxPos"));
+    }
+
+    int size = tag.getInteger(TAG_SYNC_SIZE);
+    byte[] filled = tag.getByteArray(TAG_SYNC_FILLED);
+    int[] items = tag.getIntArray(TAG_SYNC_ITEMS);
+    NBTTagCompound itemTags = tag.getCompoundTag(TAG_SYNC_ITEM_TAGS);
+    resize(size);
+    int next = 0;
+    for(int i = 0; i < size; i++) {
+      ItemStack stack = null;
+      if((i >> 3) < filled.length && (filled[i >> 3] & (1 << (i & 7))) != 0 && next < items.length) {
+        Item item = Item.getItemById(items[next] >>> 16);
+        if(item != null) {
+          stack = new ItemStack(item, 1, items[next] & 0xFFFF);
+          String key = String.valueOf(i);
+          if(itemTags.hasKey(key)) {
+            stack.setTagCompound(itemTags.getCompoundTag(key));
+          }
+        }
+        next++;
+      }
+      // keep the complete stack if the GUI already synced it
+      ItemStack old = getStackInSlot(i);
+      if(stack == null || old == null || old.getItem() != stack.getItem() || old.getItemDamage() != stack.getItemDamage()
+         || !ItemStack.areItemStackTagsEqual(old, stack)) {
+        setInventorySlotContents(i, stack);
+      }
+    }
+
+    liquids.setCapacity(tag.getInteger("LiquidCapacity"));
+    liquids.setFluids(FluidCodec.decodeFluids(tag.getByteArray(TAG_PACKED_LIQUIDS)));
+
+    fuel = tag.getInteger("fuel");
+    temperature = tag.getInteger("temperature");
+    List<FluidStack> fuelList = FluidCodec.decodeFluids(tag.getByteArray(TAG_PACKED_FUEL));
+    currentFuel = fuelList.isEmpty() ? null : fuelList.get(0);
+    currentTank = tag.hasKey("currentTank") ? TagUtil.readPos(tag.getCompoundTag("currentTank")) : null;
+    NBTTagList tankList = tag.getTagList("tanks", 10);
+    tanks.clear();
+    for(int i = 0; i < tankList.tagCount(); i++) {
+      tanks.add(TagUtil.readPos(tankList.getCompoundTagAt(i)));
+    }
+  }
+
   @Override
   public SPacketUpdateTileEntity getUpdatePacket() {
-    NBTTagCompound tag = new NBTTagCompound();
-    writeToNBT(tag);
-    return new SPacketUpdateTileEntity(this.getPos(), this.getBlockMetadata(), tag);
+    return new SPacketUpdateTileEntity(this.getPos(), this.getBlockMetadata(), writeClientSyncTag(new NBTTagCompound()));
   }
 
   @Override
   public void onDataPacket(NetworkManager net, SPacketUpdateTileEntity pkt) {
     boolean wasActive = active;
 
-    readFromNBT(pkt.getNbtCompound());
+    readClientSyncTag(pkt.getNbtCompound());
 
     // update chunk (rendering) if the active state changed
     if(isActive() != wasActive) {
@@ -686,13 +809,12 @@ public class TileSmeltery extends TileHeatingStructure implements IMasterLogic,
   @Nonnull
   @Override
   public NBTTagCompound getUpdateTag() {
-    // new tag instead of super since default implementation calls the super of writeToNBT
-    return writeToNBT(new NBTTagCompound());
+    return writeClientSyncTag(new NBTTagCompound());
   }
 
   @Override
   public void handleUpdateTag(@Nonnull NBTTagCompound tag) {
-    readFromNBT(tag);
+    readClientSyncTag(tag);
   }
 
   /* Getter */
@@ -35,6 +35,7 @@ import slimeknights.tconstruct.library.materials.HandleMaterialStats;
 import slimeknights.tconstruct.library.materials.HeadMaterialStats;
 import slimeknights.tconstruct.library.materials.Material;
 import slimeknights.tconstruct.library.traits.AbstractTrait;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.shared.TinkerFluids;
 import slimeknights.tconstruct.tools.traits.TraitAlien;
@@ -199,9 +200,11 @@ public final class TinkerMaterials {
 
   @Subscribe
   public void registerRendering(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     if(event.getSide().isClient()) {
       TinkerMaterials.registerMaterialRendering();
     }
+    StartupProfiler.end();
   }
 
   @SideOnly(Side.CLIENT)
@@ -278,6 +281,7 @@ public final class TinkerMaterials {
 
   @Subscribe
   public void setupMaterials(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     // natural resources/blocks
     wood.setCraftable(true);
     wood.addItem("stickWood", 1, Material.VALUE_Shard);
@@ -422,6 +426,7 @@ public final class TinkerMaterials {
     steel.addTrait(stiff);
 
     registerToolMaterials();
+    StartupProfiler.end();
   }
 
   private void safeAdd(Material material, ItemStack item, int value) {
@@ -581,7 +586,9 @@ public final class TinkerMaterials {
 
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     if(TinkerTools.shard == null) {
+      StartupProfiler.end();
       return;
     }
 
@@ -594,5 +601,6 @@ public final class TinkerMaterials {
         material.setShard(shard);
       }
     }
+    StartupProfiler.end();
   }
 }
@@ -43,6 +43,7 @@ import slimeknights.tconstruct.library.tools.Pattern;
 import slimeknights.tconstruct.library.tools.Shard;
 import slimeknights.tconstruct.library.tools.ToolCore;
 import slimeknights.tconstruct.library.tools.ToolPart;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.shared.block.BlockSlime;
 import slimeknights.tconstruct.shared.block.BlockTable;
@@ -196,6 +197,7 @@ public class TinkerTools extends TinkerPulse {
   // PRE-INITIALIZATION
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     // register items
     pattern = registerItem(new Pattern(), "pattern");
 
@@ -232,6 +234,7 @@ public class TinkerTools extends TinkerPulse {
 
     // set shard
     TinkerRegistry.setShardItem(shard);
+    StartupProfiler.end();
   }
 
   private void registerToolParts() {
@@ -369,10 +372,12 @@ public class TinkerTools extends TinkerPulse {
   // INITIALIZATION
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerToolBuilding();
     registerRecipies();
 
     proxy.init();
+    StartupProfiler.end();
   }
 
   private void registerToolBuilding() {
@@ -582,6 +587,7 @@ public class TinkerTools extends TinkerPulse {
   // POST-INITIALIZATION
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     registerFortifyModifiers();
 
     proxy.postInit();
@@ -591,6 +597,7 @@ public class TinkerTools extends TinkerPulse {
     MinecraftForge.EVENT_BUS.register(new TraitEvents());
     MinecraftForge.EVENT_BUS.register(new ToolEvents());
     MinecraftForge.EVENT_BUS.register(battleSign); // battlesign events
+    StartupProfiler.end();
   }
 
   private <T extends IModifier> T registerModifier(T modifier) {
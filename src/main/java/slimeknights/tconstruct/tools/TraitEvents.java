@@ -12,6 +12,7 @@ import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.tools.ToolCore;
 import slimeknights.tconstruct.library.traits.ITrait;
 import slimeknights.tconstruct.library.utils.TagUtil;
+import slimeknights.tconstruct.library.utils.Tags;
 import slimeknights.tconstruct.library.utils.ToolHelper;
 import slimeknights.tconstruct.library.events.TinkerToolEvent;
 
@@ -22,11 +23,22 @@ public class TraitEvents {
     ItemStack tool = event.getEntityPlayer().inventory.getCurrentItem();
 
     if(isTool(tool) && !ToolHelper.isBroken(tool)) {
-      NBTTagList list = TagUtil.getTraitsTagList(tool);
-      for(int i = 0; i < list.tagCount(); i++) {
-        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-        if(trait != null) {
-          trait.miningSpeed(tool, event);
+      int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(tool), Tags.TOOL_TRAITS);
+      if(ids != null) {
+        for(int id : ids) {
+          ITrait trait = TinkerRegistry.getTrait(id);
+          if(trait != null) {
+            trait.miningSpeed(tool, event);
+          }
+        }
+      }
+      else {
+        NBTTagList list = TagUtil.getTraitsTagListReadOnly(tool);
+        for(int i = 0; i < list.tagCount(); i++) {
+          ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+          if(trait != null) {
+            trait.miningSpeed(tool, event);
+          }
         }
       }
     }
@@ -37,11 +49,22 @@ public class TraitEvents {
     ItemStack tool = event.getPlayer().inventory.getCurrentItem();
 
     if(isTool(tool) && !ToolHelper.isBroken(tool)) {
-      NBTTagList list = TagUtil.getTraitsTagList(tool);
-      for(int i = 0; i < list.tagCount(); i++) {
-        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-        if(trait != null) {
-          trait.beforeBlockBreak(tool, event);
+      int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(tool), Tags.TOOL_TRAITS);
+      if(ids != null) {
+        for(int id : ids) {
+          ITrait trait = TinkerRegistry.getTrait(id);
+          if(trait != null) {
+            trait.beforeBlockBreak(tool, event);
+          }
+        }
+      }
+      else {
+        NBTTagList list = TagUtil.getTraitsTagListReadOnly(tool);
+        for(int i = 0; i < list.tagCount(); i++) {
+          ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+          if(trait != null) {
+            trait.beforeBlockBreak(tool, event);
+          }
         }
       }
     }
@@ -55,11 +78,22 @@ public class TraitEvents {
     ItemStack tool = event.getHarvester().inventory.getCurrentItem();
 
     if(isTool(tool) && !ToolHelper.isBroken(tool)) {
-      NBTTagList list = TagUtil.getTraitsTagList(tool);
-      for(int i = 0; i < list.tagCount(); i++) {
-        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-        if(trait != null) {
-          trait.blockHarvestDrops(tool, event);
+      int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(tool), Tags.TOOL_TRAITS);
+      if(ids != null) {
+        for(int id : ids) {
+          ITrait trait = TinkerRegistry.getTrait(id);
+          if(trait != null) {
+            trait.blockHarvestDrops(tool, event);
+          }
+        }
+      }
+      else {
+        NBTTagList list = TagUtil.getTraitsTagListReadOnly(tool);
+        for(int i = 0; i < list.tagCount(); i++) {
+          ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+          if(trait != null) {
+            trait.blockHarvestDrops(tool, event);
+          }
         }
       }
     }
@@ -74,11 +108,22 @@ public class TraitEvents {
     // we allow block traits to affect both main and offhand
     for(ItemStack tool : event.getEntity().getHeldEquipment()) {
       if(isTool(tool) && !ToolHelper.isBroken(tool)) {
-        NBTTagList list = TagUtil.getTraitsTagList(tool);
-        for(int i = 0; i < list.tagCount(); i++) {
-          ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-          if(trait != null) {
-            trait.onBlock(tool, (EntityPlayer) event.getEntity(), event);
+        int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(tool), Tags.TOOL_TRAITS);
+        if(ids != null) {
+          for(int id : ids) {
+            ITrait trait = TinkerRegistry.getTrait(id);
+            if(trait != null) {
+              trait.onBlock(tool, (EntityPlayer) event.getEntity(), event);
+            }
+          }
+        }
+        else {
+          NBTTagList list = TagUtil.getTraitsTagListReadOnly(tool);
+          for(int i = 0; i < list.tagCount(); i++) {
+            ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+            if(trait != null) {
+              trait.onBlock(tool, (EntityPlayer) event.getEntity(), event);
+            }
           }
         }
       }
@@ -89,11 +134,22 @@ public class TraitEvents {
   public void onRepair(TinkerToolEvent.OnRepair event) {
     ItemStack tool = event.itemStack;
 
-    NBTTagList list = TagUtil.getTraitsTagList(tool);
-    for(int i = 0; i < list.tagCount(); i++) {
-      ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
-      if(trait != null) {
-        trait.onRepair(tool, event.amount);
+    int[] ids = TagUtil.getIdentifierIds(TagUtil.getTagReadOnly(tool), Tags.TOOL_TRAITS);
+    if(ids != null) {
+      for(int id : ids) {
+        ITrait trait = TinkerRegistry.getTrait(id);
+        if(trait != null) {
+          trait.onRepair(tool, event.amount);
+        }
+      }
+    }
+    else {
+      NBTTagList list = TagUtil.getTraitsTagListReadOnly(tool);
+      for(int i = 0; i < list.tagCount(); i++) {
+        ITrait trait = TinkerRegistry.getTrait(list.getStringTagAt(i));
+        if(trait != null) {
+          trait.onRepair(tool, event.amount);
+        }
       }
     }
   }
@@ -2,9 +2,8 @@ package slimeknights.tconstruct.tools.item;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
 
-import gnu.trove.set.hash.THashSet;
+import gnu.trove.set.hash.TLongHashSet;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.creativetab.CreativeTabs;
@@ -17,22 +16,22 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
-import java.util.Set;
 import java.util.Stack;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import slimeknights.tconstruct.common.config.Config;
 import slimeknights.tconstruct.library.client.particle.Particles;
 import slimeknights.tconstruct.library.materials.ExtraMaterialStats;
 import slimeknights.tconstruct.library.materials.HandleMaterialStats;
 import slimeknights.tconstruct.library.materials.HeadMaterialStats;
 import slimeknights.tconstruct.library.materials.Material;
+import slimeknights.tconstruct.library.tasks.IWorldTask;
+import slimeknights.tconstruct.library.tasks.TaskScheduler;
 import slimeknights.tconstruct.library.tinkering.Category;
 import slimeknights.tconstruct.library.tinkering.PartMaterialType;
 import slimeknights.tconstruct.library.tools.AoeToolCore;
@@ -105,6 +104,7 @@ public class LumberAxe extends AoeToolCore {
 
   @Override
   public boolean onBlockStartBreak(ItemStack itemstack, BlockPos pos, EntityPlayer player) {
+    // only the quick trunk check happens right away, finding all the logs is up to the chopping task
     if(!ToolHelper.isBroken(itemstack) && ToolHelper.isToolEffective2(itemstack, player.worldObj.getBlockState(pos)) && detectTree(player.worldObj, pos)) {
       return fellTree(itemstack, pos, player);
     }
@@ -173,28 +173,8 @@ public class LumberAxe extends AoeToolCore {
       return false;
     }
 
-    // check if there were enough leaves around the last position
     // pos now contains the block above the topmost log
-    // we want at least 5 leaves in the surrounding 26 blocks
-    int d = 3;
-    int o = -1; // -(d-1)/2
-    int leaves = 0;
-    for(int x = 0; x < d; x++) {
-      for(int y = 0; y < d; y++) {
-        for(int z = 0; z < d; z++) {
-          BlockPos leaf = pos.add(o + x, o + y, o + z);
-          IBlockState state = world.getBlockState(leaf);
-          if(state.getBlock().isLeaves(state, world, leaf)) {
-            if(++leaves >= 5) {
-              return true;
-            }
-          }
-        }
-      }
-    }
-
-    // not enough leaves. sorreh
-    return false;
+    return TreeScan.hasLeaves(world, pos);
   }
 
   private static boolean isLog(World world, BlockPos pos) {
@@ -202,6 +182,13 @@ public class LumberAxe extends AoeToolCore {
   }
 
   public static boolean fellTree(ItemStack itemstack, BlockPos start, EntityPlayer player) {
+    return fellTree(itemstack, start, player, null);
+  }
+
+  /**
+   * @param scan The logs to chop, if null the task finds them itself on its first tick
+   */
+  public static boolean fellTree(ItemStack itemstack, BlockPos start, EntityPlayer player, @Nullable TreeScan scan) {
     if(player.worldObj.isRemote) {
       return true;
     }
@@ -211,89 +198,230 @@ public class LumberAxe extends AoeToolCore {
       speed = event.distance + 1;
     }
 
-    MinecraftForge.EVENT_BUS.register(new TreeChopTask(itemstack, start, player, speed));
+    TreeChopTask task = scan != null ? new TreeChopTask(itemstack, scan, player, speed) : new TreeChopTask(itemstack, start, player, speed);
+    TaskScheduler.schedule(player.worldObj, task);
     return true;
   }
 
-  public static class TreeChopTask {
+  /**
+   * Finds all logs of a tree with a breadth first search, starting at the given log.
+   * Positions are stored as packed longs and every position is only tested once.
+   */
+  public static class TreeScan {
+
+    private long[] logs = new long[64];
+    private int logCount;
+    private int topY = Integer.MIN_VALUE;
+    private long top;
+    private boolean tree;
+
+    private TreeScan() {
+    }
+
+    /**
+     * @param tool If present, only logs the tool is effective on are included
+     */
+    public static TreeScan scan(World world, BlockPos origin, @Nullable ItemStack tool) {
+      TreeScan scan = new TreeScan();
+
+      TLongHashSet visited = new TLongHashSet();
+      long[] queue = new long[64];
+      int head = 0;
+      int tail = 0;
+
+      long start = origin.toLong();
+      visited.add(start);
+      queue[tail++] = start;
+
+      BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+      while(head < tail && scan.logCount < Config.maxTreeSize) {
+        long packed = queue[head++];
+        setFromLong(pos, packed);
+
+        // can we harvest the block and is effective?
+        IBlockState state = world.getBlockState(pos);
+        if(!state.getBlock().isWood(world, pos) || (tool != null && !ToolHelper.isToolEffective2(tool, state))) {
+          continue;
+        }
+        scan.addLog(packed, pos.getY());
+
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        // make room for all neighbours
+        if(tail + 13 > queue.length) {
+          // compact the already processed part away first
+          System.arraycopy(queue, head, queue, 0, tail - head);
+          tail -= head;
+          head = 0;
+          if(tail + 13 > queue.length) {
+            queue = Arrays.copyOf(queue, queue.length * 2);
+          }
+        }
+
+        // its neighbours
+        for(EnumFacing facing : EnumFacing.HORIZONTALS) {
+          long neighbour = toLong(x + facing.getFrontOffsetX(), y, z + facing.getFrontOffsetZ());
+          if(visited.add(neighbour)) {
+            queue[tail++] = neighbour;
+          }
+        }
+
+        // also the layer above.. stupid acacia trees
+        for(int dx = -1; dx <= 1; dx++) {
+          for(int dz = -1; dz <= 1; dz++) {
+            long neighbour = toLong(x + dx, y + 1, z + dz);
+            if(visited.add(neighbour)) {
+              queue[tail++] = neighbour;
+            }
+          }
+        }
+      }
+
+      scan.tree = scan.logCount > 0 && hasLeaves(world, BlockPos.fromLong(scan.top).up());
+      return scan;
+    }
+
+    private void addLog(long packed, int y) {
+      if(logCount >= logs.length) {
+        logs = Arrays.copyOf(logs, logs.length * 2);
+      }
+      logs[logCount++] = packed;
+
+      if(y > topY) {
+        topY = y;
+        top = packed;
+      }
+    }
+
+    // check if there are enough leaves around the position above the topmost log
+    // we want at least 5 leaves in the surrounding 26 blocks
+    static boolean hasLeaves(World world, BlockPos pos) {
+      int d = 3;
+      int o = -1; // -(d-1)/2
+      int leaves = 0;
+      for(int x = 0; x < d; x++) {
+        for(int y = 0; y < d; y++) {
+          for(int z = 0; z < d; z++) {
+            BlockPos leaf = pos.add(o + x, o + y, o + z);
+            IBlockState state = world.getBlockState(leaf);
+            if(state.getBlock().isLeaves(state, world, leaf)) {
+              if(++leaves >= 5) {
+                return true;
+              }
+            }
+          }
+        }
+      }
+
+      // not enough leaves. sorreh
+      return false;
+    }
+
+    /** true if logs were found and there are leaves at the top */
+    public boolean isTree() {
+      return tree;
+    }
+
+    public int getLogCount() {
+      return logCount;
+    }
+
+    /** The n-th log found, packed with {@link BlockPos#toLong()} */
+    public long getLog(int n) {
+      return logs[n];
+    }
+
+    // same layout as BlockPos.toLong, without needing a BlockPos
+    private static long toLong(int x, int y, int z) {
+      return ((long) x & X_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & Z_MASK);
+    }
+
+    private static void setFromLong(BlockPos.MutableBlockPos pos, long packed) {
+      int x = (int) (packed << (64 - X_SHIFT - NUM_X_BITS) >> (64 - NUM_X_BITS));
+      int y = (int) (packed << (64 - Y_SHIFT - NUM_Y_BITS) >> (64 - NUM_Y_BITS));
+      int z = (int) (packed << (64 - NUM_Z_BITS) >> (64 - NUM_Z_BITS));
+      pos.setPos(x, y, z);
+    }
+
+    private static final int NUM_X_BITS = 26;
+    private static final int NUM_Z_BITS = NUM_X_BITS;
+    private static final int NUM_Y_BITS = 64 - NUM_X_BITS - NUM_Z_BITS;
+    private static final int Y_SHIFT = NUM_Z_BITS;
+    private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+    private static final long X_MASK = (1L << NUM_X_BITS) - 1L;
+    private static final long Y_MASK = (1L << NUM_Y_BITS) - 1L;
+    private static final long Z_MASK = (1L << NUM_Z_BITS) - 1L;
+  }
+
+  public static class TreeChopTask implements IWorldTask {
 
     public final World world;
     public final EntityPlayer player;
     public final ItemStack tool;
     public final int blocksPerTick;
+    private final BlockPos start;
+    // found on the first tick of the task instead of while the player breaks the block
+    private TreeScan scan;
 
-    public Queue<BlockPos> blocks = Lists.newLinkedList();
-    public Set<BlockPos> visited = new THashSet<BlockPos>();
-
+    private int index;
+    private int left;
+    private boolean finished;
 
     public TreeChopTask(ItemStack tool, BlockPos start, EntityPlayer player, int blocksPerTick) {
       this.world = player.getEntityWorld();
       this.player = player;
       this.tool = tool;
       this.blocksPerTick = blocksPerTick;
+      this.start = start;
+    }
 
-      this.blocks.add(start);
+    public TreeChopTask(ItemStack tool, TreeScan scan, EntityPlayer player, int blocksPerTick) {
+      this.world = player.getEntityWorld();
+      this.player = player;
+      this.tool = tool;
+      this.blocksPerTick = blocksPerTick;
+      this.start = null;
+      this.scan = scan;
     }
 
-    @SubscribeEvent
-    public void chopChop(TickEvent.WorldTickEvent event) {
-      if(event.side.isClient()) {
-        finish();
-        return;
-      }
-      if(event.world == world) {
-        return;
+    @Override
+    public void onTickStart() {
+      left = blocksPerTick;
+      if(scan == null) {
+        scan = TreeScan.scan(world, start, tool);
       }
+    }
 
-      // setup
-      int left = blocksPerTick;
-
-      // continue running
-      BlockPos pos;
-      while(left > 0) {
-        // completely done or can't do our job anymore?!
-        if(blocks.isEmpty() || ToolHelper.isBroken(tool)) {
-          finish();
-          return;
-        }
+    @Override
+    public boolean step() {
+      // completely done or can't do our job anymore?!
+      if(index >= scan.getLogCount() || ToolHelper.isBroken(tool)) {
+        finished = true;
+        return false;
+      }
 
-        pos = blocks.remove();
-        if(!visited.add(pos)) {
-          continue;
-        }
+      BlockPos pos = BlockPos.fromLong(scan.getLog(index++));
 
-        // can we harvest the block and is effective?
-        if(!isLog(world, pos) || !ToolHelper.isToolEffective2(tool, world.getBlockState(pos))) {
-          continue;
-        }
-
-        // save its neighbours
-        for(EnumFacing facing : new EnumFacing[]{EnumFacing.NORTH, EnumFacing.EAST, EnumFacing.SOUTH, EnumFacing.WEST}) {
-          BlockPos pos2 = pos.offset(facing);
-          if(!visited.contains(pos2)) {
-            blocks.add(pos2);
-          }
-        }
+      // the world might have changed since the scan, can we still harvest the block and is effective?
+      if(!isLog(world, pos) || !ToolHelper.isToolEffective2(tool, world.getBlockState(pos))) {
+        return true;
+      }
 
-        // also add the layer above.. stupid acacia trees
-        for(int x = 0; x < 3; x++) {
-          for(int z = 0; z < 3; z++) {
-            BlockPos pos2 = pos.add(-1 + x, 1, -1 + z);
-            if(!visited.contains(pos2)) {
-              blocks.add(pos2);
-            }
-          }
-        }
+      // break it, wooo!
+      ToolHelper.breakExtraBlock(tool, world, player, pos, pos);
+      left--;
+      return left > 0;
+    }
 
-        // break it, wooo!
-        ToolHelper.breakExtraBlock(tool, world, player, pos, pos);
-        left--;
-      }
+    @Override
+    public boolean isFinished() {
+      return finished;
     }
 
-    private void finish() {
+    @Override
+    public void onFinish() {
       // goodbye cruel world
-      MinecraftForge.EVENT_BUS.unregister(this);
     }
   }
 }
@@ -33,5 +33,6 @@ public class ModCreative extends Modifier {
     ModifierNBT data = ModifierNBT.readTag(modifierTag);
     int modifiers = toolTag.getInteger(Tags.FREE_MODIFIERS) + data.level;
     toolTag.setInteger(Tags.FREE_MODIFIERS, Math.max(0, modifiers));
+    TagUtil.setToolTag(rootCompound, toolTag);
   }
 }
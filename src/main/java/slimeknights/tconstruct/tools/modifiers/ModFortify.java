@@ -50,6 +50,7 @@ public class ModFortify extends ToolModifier {
     NBTTagCompound tag = TagUtil.getToolTag(rootCompound);
     HeadMaterialStats stats = material.getStats(HeadMaterialStats.TYPE);
     tag.setInteger(Tags.HARVESTLEVEL, stats.harvestLevel);
+    TagUtil.setToolTag(rootCompound, tag);
 
     // Remove other fortify modifiers, only the last one applies
     NBTTagList tagList = TagUtil.getModifiersTagList(rootCompound);
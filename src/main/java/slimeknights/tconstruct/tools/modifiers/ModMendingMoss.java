@@ -78,7 +78,7 @@ public class ModMendingMoss extends ModifierTrait {
   }
 
   private boolean isMendingMossModified(ItemStack itemStack) {
-    return TinkerUtil.hasModifier(TagUtil.getTagSafe(itemStack), getModifierIdentifier());
+    return TinkerUtil.hasModifier(TagUtil.getTagReadOnly(itemStack), getModifierIdentifier());
   }
 
   private boolean needsRepair(ItemStack itemStack) {
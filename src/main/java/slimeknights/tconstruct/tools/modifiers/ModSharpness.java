@@ -50,6 +50,7 @@ public class ModSharpness extends ToolModifier {
     attack -= toolData.attack;
     attack += tag.getFloat(Tags.ATTACK);
     tag.setFloat(Tags.ATTACK, attack);
+    TagUtil.setToolTag(rootCompound, tag);
   }
 
   @Override
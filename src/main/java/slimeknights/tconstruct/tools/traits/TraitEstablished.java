@@ -22,7 +22,7 @@ public class TraitEstablished extends AbstractTrait {
   public void onXpDrop(LivingExperienceDropEvent event) {
     EntityPlayer player = event.getAttackingPlayer();
     if(player != null) {
-      if(TinkerUtil.hasTrait(TagUtil.getTagSafe(player.getHeldItemMainhand()), identifier)) {
+      if(TinkerUtil.hasTrait(TagUtil.getTagReadOnly(player.getHeldItemMainhand()), identifier)) {
         event.setDroppedExperience(getUpdateXP(event.getDroppedExperience()));
       }
     }
@@ -32,7 +32,7 @@ public class TraitEstablished extends AbstractTrait {
   public void onBlockBreak(BlockEvent.BreakEvent event) {
     EntityPlayer player = event.getPlayer();
     if(player != null) {
-      if(TinkerUtil.hasTrait(TagUtil.getTagSafe(player.getHeldItemMainhand()), identifier)) {
+      if(TinkerUtil.hasTrait(TagUtil.getTagReadOnly(player.getHeldItemMainhand()), identifier)) {
         float r = random.nextFloat();
         int expToDrop = event.getExpToDrop();
         // 30% chance for 1 bonus xp
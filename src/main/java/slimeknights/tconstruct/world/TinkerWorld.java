@@ -25,6 +25,7 @@ import slimeknights.tconstruct.common.EntityIDs;
 import slimeknights.tconstruct.common.TinkerPulse;
 import slimeknights.tconstruct.library.TinkerRegistry;
 import slimeknights.tconstruct.library.Util;
+import slimeknights.tconstruct.library.utils.StartupProfiler;
 import slimeknights.tconstruct.shared.TinkerCommons;
 import slimeknights.tconstruct.world.block.BlockSlimeDirt;
 import slimeknights.tconstruct.world.block.BlockSlimeGrass;
@@ -63,6 +64,7 @@ public class TinkerWorld extends TinkerPulse {
   // PRE-INITIALIZATION
   @Subscribe
   public void preInit(FMLPreInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     slimeDirt = registerEnumBlock(new BlockSlimeDirt(), "slime_dirt");
     slimeGrass = registerBlock(new BlockSlimeGrass(), "slime_grass", BlockSlimeGrass.TYPE);
     slimeLeaves = registerBlock(new ItemBlockLeaves(new BlockSlimeLeaves()), "slime_leaves");
@@ -86,13 +88,16 @@ public class TinkerWorld extends TinkerPulse {
     proxy.preInit();
 
     TinkerRegistry.tabWorld.setDisplayIcon(new ItemStack(slimeSapling));
+    StartupProfiler.end();
   }
 
   // INITIALIZATION
   @Subscribe
   public void init(FMLInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     addRecipies();
     proxy.init();
+    StartupProfiler.end();
   }
 
   private void addRecipies() {
@@ -116,11 +121,13 @@ public class TinkerWorld extends TinkerPulse {
   // POST-INITIALIZATION
   @Subscribe
   public void postInit(FMLPostInitializationEvent event) {
+    StartupProfiler.begin(PulseId, event);
     GameRegistry.registerWorldGenerator(SlimeIslandGenerator.INSTANCE, 25);
     GameRegistry.registerWorldGenerator(MagmaSlimeIslandGenerator.INSTANCE, 25);
 
     MinecraftForge.EVENT_BUS.register(new WorldEvents());
 
     proxy.postInit();
+    StartupProfiler.end();
   }
 }
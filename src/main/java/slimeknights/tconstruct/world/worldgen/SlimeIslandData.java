@@ -2,31 +2,156 @@ package slimeknights.tconstruct.world.worldgen;
 
 import com.google.common.collect.Lists;
 
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldSavedData;
 import net.minecraft.world.gen.structure.StructureBoundingBox;
 
+import org.apache.logging.log4j.Logger;
+
 import java.util.List;
 
 import javax.annotation.Nonnull;
 
+import slimeknights.tconstruct.library.Util;
+
+/**
+ * Saves the bounding boxes of all generated slime islands of a dimension.
+ * <br>
+ * The islands are also indexed by the chunks they cover, so checking a position only has to look at the few islands
+ * in its chunk instead of all islands ever generated. The index is saved with the islands and rebuilt if it is
+ * missing or doesn't match, for example for worlds saved before it existed.
+ */
 public class SlimeIslandData extends WorldSavedData {
 
+  private static final Logger log = Util.getLogger("SlimeIslands");
+
+  private static final String TAG_ISLANDS = "slimeislands";
+  private static final String TAG_INDEX = "chunkindex";
+  private static final String TAG_INDEX_SIZE = "chunkindexsize";
+
+  /** Don't add to this directly, use {@link #addIsland(StructureBoundingBox)} so the index stays up to date */
   public final List<StructureBoundingBox> islands = Lists.newArrayList();
 
+  // chunk -> indices into islands of all islands intersecting the chunk
+  private final TLongObjectHashMap<TIntArrayList> chunkIndex = new TLongObjectHashMap<TIntArrayList>();
+
   public SlimeIslandData(String name) {
     super(name);
   }
 
+  public void addIsland(StructureBoundingBox island) {
+    islands.add(island);
+    indexIsland(islands.size() - 1, island);
+    markDirty();
+  }
+
+  /** @return true if the position is inside any island */
+  public boolean isIslandAt(BlockPos pos) {
+    TIntArrayList candidates = chunkIndex.get(ChunkPos.chunkXZ2Int(pos.getX() >> 4, pos.getZ() >> 4));
+    if(candidates == null) {
+      return false;
+    }
+    for(int i = 0; i < candidates.size(); i++) {
+      if(islands.get(candidates.getQuick(i)).isVecInside(pos)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void indexIsland(int index, StructureBoundingBox island) {
+    for(int cx = island.minX >> 4; cx <= island.maxX >> 4; cx++) {
+      for(int cz = island.minZ >> 4; cz <= island.maxZ >> 4; cz++) {
+        long key = ChunkPos.chunkXZ2Int(cx, cz);
+        TIntArrayList list = chunkIndex.get(key);
+        if(list == null) {
+          list = new TIntArrayList(2);
+          chunkIndex.put(key, list);
+        }
+        list.add(index);
+      }
+    }
+  }
+
+  private void rebuildIndex() {
+    chunkIndex.clear();
+    for(int i = 0; i < islands.size(); i++) {
+      indexIsland(i, islands.get(i));
+    }
+  }
+
   @Override
   public void readFromNBT(@Nonnull NBTTagCompound nbt) {
     islands.clear();
 
-    NBTTagList tagList = nbt.getTagList("slimeislands", 11);
+    NBTTagList tagList = nbt.getTagList(TAG_ISLANDS, 11);
     for(int i = 0; i < tagList.tagCount(); i++) {
       islands.add(new StructureBoundingBox(tagList.getIntArrayAt(i)));
     }
+
+    // the index has to cover exactly the saved islands
+    if(nbt.getInteger(TAG_INDEX_SIZE) != islands.size() || !readIndex(nbt.getIntArray(TAG_INDEX))) {
+      // old save or broken index
+      log.debug("Building slime island index for {} islands of {}", islands.size(), mapName);
+      rebuildIndex();
+      markDirty();
+    }
+  }
+
+  /**
+   * The index is saved as a flat int array: for every chunk its x and z coordinate, the amount of islands and then
+   * the island indices.
+   *
+   * @return false if the data is missing or doesn't fit the islands
+   */
+  private boolean readIndex(int[] data) {
+    chunkIndex.clear();
+    if(data.length == 0) {
+      return islands.isEmpty();
+    }
+
+    int i = 0;
+    while(i < data.length) {
+      if(i + 3 > data.length) {
+        return false;
+      }
+      long key = ChunkPos.chunkXZ2Int(data[i], data[i + 1]);
+      int count = data[i + 2];
+      i += 3;
+      if(count < 0 || i + count > data.length) {
+        return false;
+      }
+      TIntArrayList list = new TIntArrayList(count);
+      for(int j = 0; j < count; j++) {
+        int index = data[i + j];
+        if(index < 0 || index >= islands.size()) {
+          return false;
+        }
+        list.add(index);
+      }
+      chunkIndex.put(key, list);
+      i += count;
+    }
+    return true;
+  }
+
+  private int[] writeIndex() {
+    TIntArrayList data = new TIntArrayList();
+    for(long key : chunkIndex.keys()) {
+      TIntArrayList list = chunkIndex.get(key);
+      // same layout as ChunkPos.chunkXZ2Int
+      data.add((int) (key & 0xFFFFFFFFL));
+      data.add((int) (key >>> 32));
+      data.add(list.size());
+      data.addAll(list);
+    }
+    return data.toArray();
   }
 
   @Nonnull
@@ -37,7 +162,9 @@ public class SlimeIslandData extends WorldSavedData {
       tagList.appendTag(sbb.toNBTTagIntArray());
     }
 
-    nbt.setTag("slimeislands", tagList);
+    nbt.setTag(TAG_ISLANDS, tagList);
+    nbt.setIntArray(TAG_INDEX, writeIndex());
+    nbt.setInteger(TAG_INDEX_SIZE, islands.size());
 
     return nbt;
   }
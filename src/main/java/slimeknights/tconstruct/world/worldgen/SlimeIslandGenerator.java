@@ -4,12 +4,17 @@ import gnu.trove.map.hash.TIntObjectHashMap;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkGenerator;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraft.world.gen.structure.StructureBoundingBox;
 import net.minecraftforge.fml.common.IWorldGenerator;
 
@@ -77,12 +82,7 @@ public class SlimeIslandGenerator implements IWorldGenerator {
   }
 
   public boolean isSlimeIslandAt(World world, BlockPos pos) {
-    for(StructureBoundingBox data : getIslandData(world).islands) {
-      if(data.isVecInside(pos)) {
-        return true;
-      }
-    }
-    return false;
+    return getIslandData(world).isIslandAt(pos);
   }
 
   protected String getDataName() {
@@ -182,12 +182,19 @@ public class SlimeIslandGenerator implements IWorldGenerator {
     // the elliptic shape
     Ellipse2D.Double ellipse = new Ellipse2D.Double(0, 0, xRange, zRange);
 
+    // the shape is computed in a voxel mask first and then written to the world in one go
+    // the top erosion reaches 2 blocks above the island
+    int sizeX = xRange + 1;
+    int sizeY = yRange + 3;
+    int sizeZ = zRange + 1;
+    byte[] mask = new byte[sizeX * sizeY * sizeZ];
+
     // Basic shape
     for(int x = 0; x <= xRange; x++) {
       for(int z = 0; z <= zRange; z++) {
-        for(int y = 0; y <= yRange; y++) {
-          if(ellipse.contains(x, z)) {
-            world.setBlockState(start.add(x, y, z), dirt, 2);
+        if(ellipse.contains(x, z)) {
+          for(int y = 0; y <= yRange; y++) {
+            mask[maskIndex(x, y, z, sizeX, sizeZ)] = MASK_DIRT;
           }
         }
       }
@@ -200,20 +207,8 @@ public class SlimeIslandGenerator implements IWorldGenerator {
       for(int z = 0; z <= zRange; z++) {
         for(int y = 0; y <= erode_height; y++) {
           // we go top down
-          BlockPos pos1 = start.add(x, erode_height - y, z);
-          BlockPos pos2 = start.add(xRange - x, erode_height - y, zRange - z);
-
-          for(BlockPos pos : new BlockPos[]{pos1, pos2}) {
-            if(world.getBlockState(pos) == dirt) {
-              if(world.getBlockState(pos.add(-1, +1, 0)) != dirt ||
-                 world.getBlockState(pos.add(+1, +1, 0)) != dirt ||
-                 world.getBlockState(pos.add(0, +1, -1)) != dirt ||
-                 world.getBlockState(pos.add(-1, +1, +1)) != dirt ||
-                 random.nextInt(100) <= randomness) {
-                world.setBlockState(pos, air, 2);
-              }
-            }
-          }
+          erodeBottom(random, mask, x, erode_height - y, z, sizeX, sizeY, sizeZ);
+          erodeBottom(random, mask, xRange - x, erode_height - y, zRange - z, sizeX, sizeY, sizeZ);
         }
       }
     }
@@ -224,19 +219,8 @@ public class SlimeIslandGenerator implements IWorldGenerator {
       for(int z = 0; z <= zRange; z++) {
         for(int y = 0; y <= erode_height; y++) {
           // bottom up, starting with top - erosion layers
-          BlockPos pos1 = start.add(x, y + height - erode_height + 2, z);
-          BlockPos pos2 = start.add(xRange - x, y + height - erode_height + 2, zRange - z);
-
-
-          for(BlockPos pos : new BlockPos[]{pos1, pos2}) {
-            BlockPos below = pos.down();
-            if(world.getBlockState(below.north()) != dirt
-               || world.getBlockState(below.east()) != dirt
-               || world.getBlockState(below.south()) != dirt
-               || world.getBlockState(below.west()) != dirt) {
-              world.setBlockState(pos, Blocks.AIR.getDefaultState(), 2);
-            }
-          }
+          erodeTop(mask, x, y + height - erode_height + 2, z, sizeX, sizeY, sizeZ);
+          erodeTop(mask, xRange - x, y + height - erode_height + 2, zRange - z, sizeX, sizeY, sizeZ);
         }
       }
     }
@@ -244,17 +228,19 @@ public class SlimeIslandGenerator implements IWorldGenerator {
     // make surface grass
     for(int x = 0; x <= xRange; x++) {
       for(int z = 0; z <= zRange; z++) {
-        BlockPos top = start.add(x, height, z);
-        for(int y = 0; y <= height; y++) {
-          BlockPos pos = top.down(y);
-          if(world.getBlockState(pos) == dirt && world.isAirBlock(pos.up())) {
-            world.setBlockState(pos, grass, 2);
+        for(int y = height; y >= 0; y--) {
+          if(isMaskDirt(mask, x, y, z, sizeX, sizeY, sizeZ) && !isMaskDirt(mask, x, y + 1, z, sizeX, sizeY, sizeZ)) {
+            mask[maskIndex(x, y, z, sizeX, sizeZ)] = MASK_GRASS;
             break;
           }
         }
       }
     }
 
+    IBlockState[] states = new IBlockState[]{null, dirt, air, grass};
+    writeMask(world, start, mask, sizeX, sizeY, sizeZ, states);
+
+    // features go in last, they need the island in the world
     // lake
     if(lakeGenerator != null) {
       //System.out.println(center.toString());
@@ -283,9 +269,128 @@ public class SlimeIslandGenerator implements IWorldGenerator {
 
     // save it
     SlimeIslandData data = getIslandData(world);
-    data.islands.add(new StructureBoundingBox(start.getX(), start.getY(), start.getZ(),
-                                              start.getX() + xRange, start.getY() + yRange, start.getZ() + yRange));
-    data.markDirty();
+    data.addIsland(new StructureBoundingBox(start.getX(), start.getY(), start.getZ(),
+                                            start.getX() + xRange, start.getY() + yRange, start.getZ() + yRange));
+  }
+
+  /* Voxel mask */
+  protected static final byte MASK_NONE = 0; // not touched
+  protected static final byte MASK_DIRT = 1;
+  protected static final byte MASK_AIR = 2;
+  protected static final byte MASK_GRASS = 3;
+
+  protected static int maskIndex(int x, int y, int z, int sizeX, int sizeZ) {
+    return (y * sizeZ + z) * sizeX + x;
+  }
+
+  protected static boolean isMaskDirt(byte[] mask, int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+    if(x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) {
+      return false;
+    }
+    return mask[maskIndex(x, y, z, sizeX, sizeZ)] == MASK_DIRT;
+  }
+
+  private void erodeBottom(Random random, byte[] mask, int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+    if(isMaskDirt(mask, x, y, z, sizeX, sizeY, sizeZ)) {
+      if(!isMaskDirt(mask, x - 1, y + 1, z, sizeX, sizeY, sizeZ) ||
+         !isMaskDirt(mask, x + 1, y + 1, z, sizeX, sizeY, sizeZ) ||
+         !isMaskDirt(mask, x, y + 1, z - 1, sizeX, sizeY, sizeZ) ||
+         !isMaskDirt(mask, x - 1, y + 1, z + 1, sizeX, sizeY, sizeZ) ||
+         random.nextInt(100) <= randomness) {
+        mask[maskIndex(x, y, z, sizeX, sizeZ)] = MASK_AIR;
+      }
+    }
+  }
+
+  private void erodeTop(byte[] mask, int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+    // north, east, south and west of the block below
+    if(!isMaskDirt(mask, x, y - 1, z - 1, sizeX, sizeY, sizeZ)
+       || !isMaskDirt(mask, x + 1, y - 1, z, sizeX, sizeY, sizeZ)
+       || !isMaskDirt(mask, x, y - 1, z + 1, sizeX, sizeY, sizeZ)
+       || !isMaskDirt(mask, x - 1, y - 1, z, sizeX, sizeY, sizeZ)) {
+      mask[maskIndex(x, y, z, sizeX, sizeZ)] = MASK_AIR;
+    }
+  }
+
+  /**
+   * Writes the mask into the chunks directly, one chunk section at a time. This skips the lighting and neighbour
+   * updates of every single block, the lighting of the affected chunks is redone once afterwards.
+   *
+   * @param states The state to place for each mask value, null to leave the position as it is
+   */
+  protected void writeMask(World world, BlockPos start, byte[] mask, int sizeX, int sizeY, int sizeZ, IBlockState[] states) {
+    int minX = start.getX();
+    int minY = start.getY();
+    int minZ = start.getZ();
+    int maxX = minX + sizeX - 1;
+    int maxY = minY + sizeY - 1;
+    int maxZ = minZ + sizeZ - 1;
+
+    for(int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+      for(int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+        Chunk chunk = world.getChunkFromChunkCoords(cx, cz);
+        ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        int x0 = Math.max(minX, cx << 4);
+        int x1 = Math.min(maxX, (cx << 4) + 15);
+        int z0 = Math.max(minZ, cz << 4);
+        int z1 = Math.min(maxZ, (cz << 4) + 15);
+        boolean changed = false;
+
+        for(int sy = Math.max(0, minY >> 4); sy <= maxY >> 4 && sy < sections.length; sy++) {
+          ExtendedBlockStorage section = sections[sy];
+          int y0 = Math.max(minY, sy << 4);
+          int y1 = Math.min(maxY, (sy << 4) + 15);
+
+          for(int y = y0; y <= y1; y++) {
+            for(int z = z0; z <= z1; z++) {
+              for(int x = x0; x <= x1; x++) {
+                IBlockState state = states[mask[maskIndex(x - minX, y - minY, z - minZ, sizeX, sizeZ)]];
+                if(state == null) {
+                  continue;
+                }
+                if(section == null) {
+                  // nothing to clear in an empty section
+                  if(state.getBlock() == Blocks.AIR) {
+                    continue;
+                  }
+                  section = new ExtendedBlockStorage(sy << 4, !world.provider.getHasNoSky());
+                  sections[sy] = section;
+                }
+
+                IBlockState old = section.get(x & 15, y & 15, z & 15);
+                if(old.getBlock().hasTileEntity(old)) {
+                  // let the world take care of removing the tile entity
+                  world.setBlockState(new BlockPos(x, y, z), state, 2);
+                }
+                else {
+                  section.set(x & 15, y & 15, z & 15, state);
+                }
+                changed = true;
+              }
+            }
+          }
+        }
+
+        if(changed) {
+          finishChunk(world, chunk);
+        }
+      }
+    }
+  }
+
+  private void finishChunk(World world, Chunk chunk) {
+    // height map and sky light now, everything else on the next chunk tick
+    chunk.generateSkylightMap();
+    chunk.setLightPopulated(false);
+    chunk.setChunkModified();
+
+    // players who already have the chunk need the new blocks
+    if(world instanceof WorldServer) {
+      PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.xPosition, chunk.zPosition);
+      if(entry != null && entry.isSentToPlayers()) {
+        entry.sendPacket(new SPacketChunkData(chunk, 65535));
+      }
+    }
   }
 
   // takse the position and goes up until it finds a block. if it doesn't find a block directly above it'll check if it has side blocks on the way up to attach to.